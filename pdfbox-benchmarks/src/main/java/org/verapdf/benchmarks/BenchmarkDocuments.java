@@ -0,0 +1,153 @@
+package org.verapdf.benchmarks;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDStream;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Documents used by the benchmarks. Test PDFs of the validation model and
+ * features reporting modules are resolved against the project root, which
+ * is the current or the parent directory, or the directory from the
+ * {@value #ROOT_PROPERTY} system property. {@value #SYNTHETIC} document is
+ * generated with {@value #PAGES_PROPERTY} pages (200 by default).
+ */
+final class BenchmarkDocuments {
+
+	static final String SYNTHETIC = "synthetic";
+
+	static final String ROOT_PROPERTY = "verapdf.benchmarks.root";
+	static final String PAGES_PROPERTY = "verapdf.benchmarks.synthetic.pages";
+
+	private static final int DEFAULT_PAGES = 200;
+	private static final int LINES_PER_PAGE = 60;
+
+	private static final Map<String, String> TEST_DOCUMENTS = new HashMap<>();
+
+	static {
+		TEST_DOCUMENTS.put("Operators.pdf",
+				"pdfbox-validation-model/src/test/resources/model/impl/pb/operator/Operators.pdf");
+		TEST_DOCUMENTS.put("Fonts.pdf",
+				"pdfbox-validation-model/src/test/resources/model/impl/pb/pd/Fonts.pdf");
+		TEST_DOCUMENTS.put("ColorSpaces.pdf",
+				"pdfbox-validation-model/src/test/resources/model/impl/pb/pd/ColorSpaces.pdf");
+		TEST_DOCUMENTS.put("FR.pdf",
+				"pdfbox-feature-reporting/src/test/resources/FR.pdf");
+	}
+
+	private BenchmarkDocuments() {
+		// disable default constructor
+	}
+
+	/**
+	 * @param name name of the test document or {@value #SYNTHETIC}
+	 * @return file of the document
+	 * @throws IOException if the document can not be found or generated
+	 */
+	static File getDocument(String name) throws IOException {
+		if (SYNTHETIC.equals(name)) {
+			return generateSyntheticDocument(Integer.getInteger(PAGES_PROPERTY, DEFAULT_PAGES));
+		}
+		String path = TEST_DOCUMENTS.get(name);
+		if (path == null) {
+			throw new IllegalArgumentException("Unknown benchmark document " + name);
+		}
+		String root = System.getProperty(ROOT_PROPERTY);
+		File[] candidates = root != null ? new File[]{new File(root, path)}
+				: new File[]{new File(path), new File("..", path)};
+		for (File candidate : candidates) {
+			if (candidate.isFile()) {
+				return candidate;
+			}
+		}
+		throw new FileNotFoundException("Benchmark document " + path
+				+ " is not found, set " + ROOT_PROPERTY + " to the project root");
+	}
+
+	/**
+	 * @param file document to load
+	 * @return document loaded the way validation loads it
+	 * @throws IOException if the document can not be loaded
+	 */
+	static PDDocument load(File file) throws IOException {
+		return PDDocument.load(file, false, true);
+	}
+
+	/**
+	 * Generates document with text, path painting and graphics state save
+	 * and restore on every page. All pages share one font, so the document
+	 * resembles the typical text heavy files.
+	 */
+	private static File generateSyntheticDocument(int pages) throws IOException {
+		File file = File.createTempFile("verapdf-benchmark", ".pdf");
+		file.deleteOnExit();
+
+		COSDictionary font = new COSDictionary();
+		font.setItem(COSName.TYPE, COSName.FONT);
+		font.setItem(COSName.SUBTYPE, COSName.TYPE1);
+		font.setName(COSName.BASE_FONT, "Helvetica");
+		COSDictionary fonts = new COSDictionary();
+		fonts.setItem(COSName.getPDFName("F1"), font);
+		COSDictionary resources = new COSDictionary();
+		resources.setItem(COSName.FONT, fonts);
+
+		try (PDDocument document = new PDDocument()) {
+			for (int i = 0; i < pages; i++) {
+				PDPage page = new PDPage();
+				page.getCOSObject().setItem(COSName.RESOURCES, resources);
+				COSStream stream = new COSStream(new COSDictionary());
+				try (OutputStream out = stream.createUnfilteredStream()) {
+					out.write(getPageContent(i).getBytes(StandardCharsets.US_ASCII));
+				}
+				page.setContents(new PDStream(stream));
+				document.addPage(page);
+			}
+			document.save(file);
+		}
+		return file;
+	}
+
+	/**
+	 * Generates document with the given number of pages without content.
+	 * Such document isolates costs of the page tree traversal.
+	 *
+	 * @param pages number of pages
+	 * @return file of the generated document
+	 * @throws IOException if the document can not be saved
+	 */
+	static File generateBlankDocument(int pages) throws IOException {
+		File file = File.createTempFile("verapdf-benchmark-blank", ".pdf");
+		file.deleteOnExit();
+
+		try (PDDocument document = new PDDocument()) {
+			for (int i = 0; i < pages; i++) {
+				document.addPage(new PDPage());
+			}
+			document.save(file);
+		}
+		return file;
+	}
+
+	private static String getPageContent(int pageNumber) {
+		StringBuilder builder = new StringBuilder();
+		for (int line = 0; line < LINES_PER_PAGE; line++) {
+			int y = 750 - line * 12;
+			builder.append("q 0.2 0.4 0.6 rg 20 ").append(y).append(" 570 10 re f Q\n");
+			builder.append("q 1 0 0 1 0 0 cm BT /F1 10 Tf 0 Tr 22 ").append(y + 2).append(" Td ")
+					.append("(Page ").append(pageNumber).append(" line ").append(line)
+					.append(" of the synthetic benchmark document) Tj ")
+					.append("[(Kerned) -120 (text) 80 (array)] TJ ET Q\n");
+		}
+		return builder.toString();
+	}
+}
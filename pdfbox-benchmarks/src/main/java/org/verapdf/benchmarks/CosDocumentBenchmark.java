@@ -0,0 +1,50 @@
+package org.verapdf.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.verapdf.model.impl.pb.cos.PBCosDocument;
+import org.verapdf.model.tools.cache.DocumentCache;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Construction of the validation model root and its indirect objects.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CosDocumentBenchmark {
+
+	@Param({"Operators.pdf", "Fonts.pdf", "ColorSpaces.pdf", "FR.pdf", BenchmarkDocuments.SYNTHETIC})
+	private String documentName;
+
+	private PDDocument document;
+
+	@Setup(Level.Trial)
+	public void loadDocument() throws IOException {
+		this.document = BenchmarkDocuments.load(BenchmarkDocuments.getDocument(this.documentName));
+	}
+
+	@TearDown(Level.Invocation)
+	public void releaseCache() {
+		DocumentCache.release(this.document);
+	}
+
+	@TearDown(Level.Trial)
+	public void closeDocument() throws IOException {
+		this.document.close();
+	}
+
+	@Benchmark
+	public void indirectObjects(Blackhole blackhole) {
+		PBCosDocument cosDocument = new PBCosDocument(this.document, PDFAFlavour.PDFA_1_B);
+		blackhole.consume(cosDocument.getLinkedObjects(PBCosDocument.INDIRECT_OBJECTS).size());
+		blackhole.consume(cosDocument.getLinkedObjects(PBCosDocument.DOCUMENT));
+	}
+}
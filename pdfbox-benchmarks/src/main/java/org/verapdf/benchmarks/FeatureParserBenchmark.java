@@ -0,0 +1,41 @@
+package org.verapdf.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.features.pb.PBFeatureParser;
+import org.verapdf.features.tools.FeaturesCollection;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Features extraction of the whole document with plugins disabled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class FeatureParserBenchmark {
+
+	@Param({"FR.pdf", "Fonts.pdf", BenchmarkDocuments.SYNTHETIC})
+	private String documentName;
+
+	private PDDocument document;
+
+	@Setup(Level.Trial)
+	public void loadDocument() throws IOException {
+		this.document = BenchmarkDocuments.load(BenchmarkDocuments.getDocument(this.documentName));
+	}
+
+	@TearDown(Level.Trial)
+	public void closeDocument() throws IOException {
+		this.document.close();
+	}
+
+	@Benchmark
+	public FeaturesCollection featuresCollection() {
+		return PBFeatureParser.getFeaturesCollection(this.document, false, null);
+	}
+}
@@ -0,0 +1,84 @@
+package org.verapdf.benchmarks;
+
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.verapdf.model.factory.operator.OperatorFactory;
+import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
+import org.verapdf.model.tools.cache.DocumentCache;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Conversion of page content streams to veraPDF-library operators, both from
+ * the already tokenized streams and straight from the stream parser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class OperatorFactoryBenchmark {
+
+	@Param({"Operators.pdf", "Fonts.pdf", "ColorSpaces.pdf", BenchmarkDocuments.SYNTHETIC})
+	private String documentName;
+
+	private PDDocument document;
+	private final List<PDPage> pages = new ArrayList<>();
+	private final List<PDInheritableResources> resources = new ArrayList<>();
+	private final List<List<Object>> tokens = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void loadDocument() throws IOException {
+		this.document = BenchmarkDocuments.load(BenchmarkDocuments.getDocument(this.documentName));
+		for (PDPage page : this.document.getPages()) {
+			this.pages.add(page);
+			this.resources.add(PDInheritableResources.getInstance(
+					page.getResources(), PDInheritableResources.EMPTY_RESOURCES));
+			List<Object> pageTokens = new ArrayList<>();
+			if (page.getContentStream() != null) {
+				PDFStreamParser parser = new PDFStreamParser(page.getContentStream(), true);
+				parser.parse();
+				pageTokens.addAll(parser.getTokens());
+			}
+			this.tokens.add(pageTokens);
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void releaseCache() {
+		DocumentCache.release(this.document);
+	}
+
+	@TearDown(Level.Trial)
+	public void closeDocument() throws IOException {
+		this.document.close();
+	}
+
+	@Benchmark
+	public void operatorsFromTokens(Blackhole blackhole) {
+		OperatorFactory factory = new OperatorFactory();
+		for (int i = 0; i < this.tokens.size(); i++) {
+			blackhole.consume(factory.operatorsFromTokens(this.tokens.get(i),
+					this.resources.get(i), this.document, PDFAFlavour.PDFA_1_B));
+		}
+	}
+
+	@Benchmark
+	public void operatorsFromContentStream(Blackhole blackhole) {
+		for (int i = 0; i < this.pages.size(); i++) {
+			PBoxPDContentStream stream = new PBoxPDContentStream(this.pages.get(i),
+					this.resources.get(i), this.document, PDFAFlavour.PDFA_1_B);
+			blackhole.consume(stream.getLinkedObjects(PBoxPDContentStream.OPERATORS).size());
+			blackhole.consume(stream.isContainsTransparency());
+		}
+	}
+}
@@ -0,0 +1,42 @@
+package org.verapdf.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.openjdk.jmh.annotations.*;
+import org.verapdf.features.pb.PBFeatureParser;
+import org.verapdf.features.tools.FeaturesCollection;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Features extraction of documents with blank pages. Time per operation
+ * should grow linearly with the number of pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class PageTreeBenchmark {
+
+	@Param({"5000", "10000", "50000"})
+	private int pages;
+
+	private PDDocument document;
+
+	@Setup(Level.Trial)
+	public void loadDocument() throws IOException {
+		this.document = BenchmarkDocuments.load(BenchmarkDocuments.generateBlankDocument(this.pages));
+	}
+
+	@TearDown(Level.Trial)
+	public void closeDocument() throws IOException {
+		this.document.close();
+	}
+
+	@Benchmark
+	public FeaturesCollection featuresCollection() {
+		return PBFeatureParser.getFeaturesCollection(this.document, false, null);
+	}
+}
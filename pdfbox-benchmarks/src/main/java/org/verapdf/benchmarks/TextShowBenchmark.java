@@ -0,0 +1,69 @@
+package org.verapdf.benchmarks;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.verapdf.model.impl.pb.operator.textshow.PBOpTextShow;
+import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
+import org.verapdf.model.tools.cache.DocumentCache;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Used glyphs resolution of all text show operators of the document.
+ * Operators are built once, the document cache is dropped after each
+ * invocation, so every invocation resolves glyphs of a fresh document.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TextShowBenchmark {
+
+	@Param({"Fonts.pdf", "Operators.pdf", BenchmarkDocuments.SYNTHETIC})
+	private String documentName;
+
+	private PDDocument document;
+	private final List<PBOpTextShow> operators = new ArrayList<>();
+
+	@Setup(Level.Trial)
+	public void loadDocument() throws IOException {
+		this.document = BenchmarkDocuments.load(BenchmarkDocuments.getDocument(this.documentName));
+		for (PDPage page : this.document.getPages()) {
+			PDInheritableResources resources = PDInheritableResources.getInstance(
+					page.getResources(), PDInheritableResources.EMPTY_RESOURCES);
+			PBoxPDContentStream stream = new PBoxPDContentStream(page, resources,
+					this.document, PDFAFlavour.PDFA_1_B);
+			for (Object operator : stream.getLinkedObjects(PBoxPDContentStream.OPERATORS)) {
+				if (operator instanceof PBOpTextShow) {
+					this.operators.add((PBOpTextShow) operator);
+				}
+			}
+		}
+	}
+
+	@TearDown(Level.Invocation)
+	public void releaseCache() {
+		DocumentCache.release(this.document);
+	}
+
+	@TearDown(Level.Trial)
+	public void closeDocument() throws IOException {
+		this.document.close();
+	}
+
+	@Benchmark
+	public void usedGlyphs(Blackhole blackhole) {
+		for (PBOpTextShow operator : this.operators) {
+			blackhole.consume(operator.getLinkedObjects(PBOpTextShow.USED_GLYPHS));
+		}
+	}
+}
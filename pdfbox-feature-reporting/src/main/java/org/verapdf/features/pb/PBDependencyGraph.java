@@ -0,0 +1,172 @@
+package org.verapdf.features.pb;
+
+import java.util.*;
+
+/**
+ * Compact storage of the relations between features objects. Every object
+ * id is stored once and is referenced from the relations by its number, so
+ * a relation entry costs a single int instead of a string in a hash set.
+ * Relations are keyed by these numbers as well, without boxing. String sets
+ * are built only when the features object is created.
+ */
+final class PBDependencyGraph {
+
+	private static final int[] EMPTY = new int[0];
+
+	private final Map<String, Integer> numbers = new HashMap<>();
+	private final List<String> ids = new ArrayList<>();
+
+	/**
+	 * @return new empty relation which uses ids of this graph
+	 */
+	Relation newRelation() {
+		return new Relation();
+	}
+
+	private int getNumber(String id) {
+		Integer number = this.numbers.get(id);
+		if (number == null) {
+			number = Integer.valueOf(this.ids.size());
+			this.numbers.put(id, number);
+			this.ids.add(id);
+		}
+		return number.intValue();
+	}
+
+	/**
+	 * One-to-many relation between object ids, for example relation between
+	 * a page and fonts used by it.
+	 */
+	final class Relation {
+
+		private final IntSetMap values = new IntSetMap();
+
+		private Relation() {
+		}
+
+		/**
+		 * Adds value to the set of values of the given key
+		 *
+		 * @param key   id of the key object
+		 * @param value id of the value object
+		 */
+		void add(String key, String value) {
+			this.values.getOrCreate(getNumber(key)).add(getNumber(value));
+		}
+
+		/**
+		 * @param key id of the key object
+		 * @return true if at least one value has been added for the key
+		 */
+		boolean containsKey(String key) {
+			Integer keyNumber = numbers.get(key);
+			return keyNumber != null && this.values.get(keyNumber.intValue()) != null;
+		}
+
+		/**
+		 * @param key id of the key object
+		 * @return ids of all values of the key or null if there are no
+		 * such values
+		 */
+		Set<String> get(String key) {
+			Integer keyNumber = numbers.get(key);
+			IntSet set = keyNumber == null ? null : this.values.get(keyNumber.intValue());
+			if (set == null) {
+				return null;
+			}
+			Set<String> res = new HashSet<>();
+			for (int i = 0; i < set.size; ++i) {
+				res.add(ids.get(set.values[i]));
+			}
+			return res;
+		}
+	}
+
+	/**
+	 * Open addressing hash map from non-negative ints to int sets.
+	 */
+	private static final class IntSetMap {
+
+		private static final int NO_KEY = -1;
+		private static final int INITIAL_CAPACITY = 8;
+
+		private int[] keys = EMPTY;
+		private IntSet[] sets = new IntSet[0];
+		private int size;
+
+		IntSet get(int key) {
+			if (this.size == 0) {
+				return null;
+			}
+			int position = this.find(key);
+			return this.keys[position] == key ? this.sets[position] : null;
+		}
+
+		IntSet getOrCreate(int key) {
+			IntSet set = this.get(key);
+			if (set == null) {
+				if (2 * (this.size + 1) > this.keys.length) {
+					this.resize();
+				}
+				int position = this.find(key);
+				set = new IntSet();
+				this.keys[position] = key;
+				this.sets[position] = set;
+				++this.size;
+			}
+			return set;
+		}
+
+		/**
+		 * @return position of the key or of the free slot for it
+		 */
+		private int find(int key) {
+			int mask = this.keys.length - 1;
+			int position = (key * 0x9E3779B9) >>> 1 & mask;
+			while (this.keys[position] != key && this.keys[position] != NO_KEY) {
+				position = (position + 1) & mask;
+			}
+			return position;
+		}
+
+		private void resize() {
+			int[] oldKeys = this.keys;
+			IntSet[] oldSets = this.sets;
+			int capacity = Math.max(INITIAL_CAPACITY, oldKeys.length * 2);
+			this.keys = new int[capacity];
+			Arrays.fill(this.keys, NO_KEY);
+			this.sets = new IntSet[capacity];
+			for (int i = 0; i < oldKeys.length; ++i) {
+				if (oldKeys[i] != NO_KEY) {
+					int position = this.find(oldKeys[i]);
+					this.keys[position] = oldKeys[i];
+					this.sets[position] = oldSets[i];
+				}
+			}
+		}
+	}
+
+	/**
+	 * Sorted set of ints. Ids are numbered in the order of discovery, so new
+	 * values are usually appended to the end.
+	 */
+	private static final class IntSet {
+
+		private int[] values = EMPTY;
+		private int size;
+
+		void add(int value) {
+			int position = Arrays.binarySearch(this.values, 0, this.size, value);
+			if (position >= 0) {
+				return;
+			}
+			position = -position - 1;
+			if (this.size == this.values.length) {
+				this.values = Arrays.copyOf(this.values, Math.max(2, this.size * 2));
+			}
+			System.arraycopy(this.values, position, this.values, position + 1, this.size - position);
+			this.values[position] = value;
+			++this.size;
+		}
+	}
+}
@@ -29,6 +29,7 @@ import org.apache.pdfbox.pdmodel.interactive.annotation.PDAppearanceStream;
 import org.verapdf.core.FeatureParsingException;
 import org.verapdf.features.FeaturesObjectTypesEnum;
 import org.verapdf.features.FeaturesReporter;
+import org.verapdf.features.pb.PBDependencyGraph.Relation;
 import org.verapdf.features.tools.ErrorsHelper;
 import org.verapdf.features.tools.FeatureTreeNode;
 import org.verapdf.features.tools.FeaturesCollection;
@@ -70,123 +71,128 @@ public final class PBFeatureParser {
 	private static final String DEVICECMYK_ID = "devcmyk";
 
 	private FeaturesReporter reporter;
+	private final int firstPage;
+	private final int lastPage;
+	private final PBDependencyGraph dependencies = new PBDependencyGraph();
 
 	private Map<String, COSStream> iccProfiles = new HashMap<>();
-	private Map<String, Set<String>> iccProfileOutInts = new HashMap<>();
-	private Map<String, Set<String>> iccProfileICCBased = new HashMap<>();
+	private final Relation iccProfileOutInts = dependencies.newRelation();
+	private final Relation iccProfileICCBased = dependencies.newRelation();
 
-	private Map<String, Set<String>> pageExtGStateChild = new HashMap<>();
-	private Map<String, Set<String>> pageColorSpaceChild = new HashMap<>();
-	private Map<String, Set<String>> pagePatternChild = new HashMap<>();
-	private Map<String, Set<String>> pageShadingChild = new HashMap<>();
-	private Map<String, Set<String>> pageXObjectChild = new HashMap<>();
-	private Map<String, Set<String>> pageFontChild = new HashMap<>();
-	private Map<String, Set<String>> pagePropertiesChild = new HashMap<>();
+	private final Relation pageExtGStateChild = dependencies.newRelation();
+	private final Relation pageColorSpaceChild = dependencies.newRelation();
+	private final Relation pagePatternChild = dependencies.newRelation();
+	private final Relation pageShadingChild = dependencies.newRelation();
+	private final Relation pageXObjectChild = dependencies.newRelation();
+	private final Relation pageFontChild = dependencies.newRelation();
+	private final Relation pagePropertiesChild = dependencies.newRelation();
 
 	private Map<String, PDAnnotation> annots = new HashMap<>();
 	private Map<String, String> annotChild = new HashMap<>();
-	private Map<String, Set<String>> annotXObjectsChild = new HashMap<>();
-	private Map<String, Set<String>> annotPagesParent = new HashMap<>();
+	private final Relation annotXObjectsChild = dependencies.newRelation();
+	private final Relation annotPagesParent = dependencies.newRelation();
 	private Map<String, String> annotParent = new HashMap<>();
 
 	private Map<String, PDExtendedGraphicsState> exGStates = new HashMap<>();
 	private Map<String, String> exGStateFontChild = new HashMap<>();
-	private Map<String, Set<String>> exGStatePageParent = new HashMap<>();
-	private Map<String, Set<String>> exGStatePatternParent = new HashMap<>();
-	private Map<String, Set<String>> exGStateXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> exGStateFontParent = new HashMap<>();
+	private final Relation exGStatePageParent = dependencies.newRelation();
+	private final Relation exGStatePatternParent = dependencies.newRelation();
+	private final Relation exGStateXObjectParent = dependencies.newRelation();
+	private final Relation exGStateFontParent = dependencies.newRelation();
 
 	private Map<String, PDColorSpace> colorSpaces = new HashMap<>();
 	private Map<String, String> colorSpaceIccProfileChild = new HashMap<>();
 	private Map<String, String> colorSpaceColorSpaceChild = new HashMap<>();
-	private Map<String, Set<String>> colorSpacePageParent = new HashMap<>();
-	private Map<String, Set<String>> colorSpaceColorSpaceParent = new HashMap<>();
-	private Map<String, Set<String>> colorSpacePatternParent = new HashMap<>();
-	private Map<String, Set<String>> colorSpaceShadingParent = new HashMap<>();
-	private Map<String, Set<String>> colorSpaceXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> colorSpaceFontParent = new HashMap<>();
+	private final Relation colorSpacePageParent = dependencies.newRelation();
+	private final Relation colorSpaceColorSpaceParent = dependencies.newRelation();
+	private final Relation colorSpacePatternParent = dependencies.newRelation();
+	private final Relation colorSpaceShadingParent = dependencies.newRelation();
+	private final Relation colorSpaceXObjectParent = dependencies.newRelation();
+	private final Relation colorSpaceFontParent = dependencies.newRelation();
 
 	private Map<String, PDTilingPattern> tilingPatterns = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternExtGStateChild = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternColorSpaceChild = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternPatternChild = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternShadingChild = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternXObjectChild = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternFontChild = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternPropertiesChild = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternPageParent = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternPatternParent = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> tilingPatternFontParent = new HashMap<>();
+	private final Relation tilingPatternExtGStateChild = dependencies.newRelation();
+	private final Relation tilingPatternColorSpaceChild = dependencies.newRelation();
+	private final Relation tilingPatternPatternChild = dependencies.newRelation();
+	private final Relation tilingPatternShadingChild = dependencies.newRelation();
+	private final Relation tilingPatternXObjectChild = dependencies.newRelation();
+	private final Relation tilingPatternFontChild = dependencies.newRelation();
+	private final Relation tilingPatternPropertiesChild = dependencies.newRelation();
+	private final Relation tilingPatternPageParent = dependencies.newRelation();
+	private final Relation tilingPatternPatternParent = dependencies.newRelation();
+	private final Relation tilingPatternXObjectParent = dependencies.newRelation();
+	private final Relation tilingPatternFontParent = dependencies.newRelation();
 
 	private Map<String, PDShadingPattern> shadingPatterns = new HashMap<>();
 	private Map<String, String> shadingPatternShadingChild = new HashMap<>();
 	private Map<String, String> shadingPatternExtGStateChild = new HashMap<>();
-	private Map<String, Set<String>> shadingPatternPageParent = new HashMap<>();
-	private Map<String, Set<String>> shadingPatternPatternParent = new HashMap<>();
-	private Map<String, Set<String>> shadingPatternXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> shadingPatternFontParent = new HashMap<>();
+	private final Relation shadingPatternPageParent = dependencies.newRelation();
+	private final Relation shadingPatternPatternParent = dependencies.newRelation();
+	private final Relation shadingPatternXObjectParent = dependencies.newRelation();
+	private final Relation shadingPatternFontParent = dependencies.newRelation();
 
 	private Map<String, PDShading> shadings = new HashMap<>();
 	private Map<String, String> shadingColorSpaceChild = new HashMap<>();
-	private Map<String, Set<String>> shadingPageParent = new HashMap<>();
-	private Map<String, Set<String>> shadingPatternParent = new HashMap<>();
-	private Map<String, Set<String>> shadingXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> shadingFontParent = new HashMap<>();
+	private final Relation shadingPageParent = dependencies.newRelation();
+	private final Relation shadingPatternParent = dependencies.newRelation();
+	private final Relation shadingXObjectParent = dependencies.newRelation();
+	private final Relation shadingFontParent = dependencies.newRelation();
 
 	private Map<String, PDImageXObject> imageXObjects = new HashMap<>();
 	private Map<String, String> imageXObjectColorSpaceChild = new HashMap<>();
 	private Map<String, String> imageXObjectMaskChild = new HashMap<>();
 	private Map<String, String> imageXObjectSMaskChild = new HashMap<>();
-	private Map<String, Set<String>> imageXObjectAlternatesChild = new HashMap<>();
-	private Map<String, Set<String>> imageXObjectPageParent = new HashMap<>();
-	private Map<String, Set<String>> imageXObjectPatternParent = new HashMap<>();
-	private Map<String, Set<String>> imageXObjectXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> imageXObjectFontParent = new HashMap<>();
+	private final Relation imageXObjectAlternatesChild = dependencies.newRelation();
+	private final Relation imageXObjectPageParent = dependencies.newRelation();
+	private final Relation imageXObjectPatternParent = dependencies.newRelation();
+	private final Relation imageXObjectXObjectParent = dependencies.newRelation();
+	private final Relation imageXObjectFontParent = dependencies.newRelation();
 
 	private Map<String, PDFormXObject> formXObjects = new HashMap<>();
 	private Map<String, String> groupXObjectColorSpaceChild = new HashMap<>();
-	private Map<String, Set<String>> formXObjectExtGStateChild = new HashMap<>();
-	private Map<String, Set<String>> formXObjectColorSpaceChild = new HashMap<>();
-	private Map<String, Set<String>> formXObjectPatternChild = new HashMap<>();
-	private Map<String, Set<String>> formXObjectShadingChild = new HashMap<>();
-	private Map<String, Set<String>> formXObjectXObjectChild = new HashMap<>();
-	private Map<String, Set<String>> formXObjectFontChild = new HashMap<>();
-	private Map<String, Set<String>> formXObjectPropertiesChild = new HashMap<>();
-	private Map<String, Set<String>> formXObjectPageParent = new HashMap<>();
-	private Map<String, Set<String>> formXObjectAnnotationParent = new HashMap<>();
-	private Map<String, Set<String>> formXObjectPatternParent = new HashMap<>();
-	private Map<String, Set<String>> formXObjectXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> formXObjectFontParent = new HashMap<>();
+	private final Relation formXObjectExtGStateChild = dependencies.newRelation();
+	private final Relation formXObjectColorSpaceChild = dependencies.newRelation();
+	private final Relation formXObjectPatternChild = dependencies.newRelation();
+	private final Relation formXObjectShadingChild = dependencies.newRelation();
+	private final Relation formXObjectXObjectChild = dependencies.newRelation();
+	private final Relation formXObjectFontChild = dependencies.newRelation();
+	private final Relation formXObjectPropertiesChild = dependencies.newRelation();
+	private final Relation formXObjectPageParent = dependencies.newRelation();
+	private final Relation formXObjectAnnotationParent = dependencies.newRelation();
+	private final Relation formXObjectPatternParent = dependencies.newRelation();
+	private final Relation formXObjectXObjectParent = dependencies.newRelation();
+	private final Relation formXObjectFontParent = dependencies.newRelation();
 
 	private Map<String, PDFontLike> fonts = new HashMap<>();
-	private Map<String, Set<String>> fontExtGStateChild = new HashMap<>();
-	private Map<String, Set<String>> fontColorSpaceChild = new HashMap<>();
-	private Map<String, Set<String>> fontPatternChild = new HashMap<>();
-	private Map<String, Set<String>> fontShadingChild = new HashMap<>();
-	private Map<String, Set<String>> fontXObjectChild = new HashMap<>();
-	private Map<String, Set<String>> fontFontChild = new HashMap<>();
-	private Map<String, Set<String>> fontPropertiesChild = new HashMap<>();
-	private Map<String, Set<String>> fontExtGStateParent = new HashMap<>();
-	private Map<String, Set<String>> fontPageParent = new HashMap<>();
-	private Map<String, Set<String>> fontPatternParent = new HashMap<>();
-	private Map<String, Set<String>> fontXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> fontFontParent = new HashMap<>();
+	private final Relation fontExtGStateChild = dependencies.newRelation();
+	private final Relation fontColorSpaceChild = dependencies.newRelation();
+	private final Relation fontPatternChild = dependencies.newRelation();
+	private final Relation fontShadingChild = dependencies.newRelation();
+	private final Relation fontXObjectChild = dependencies.newRelation();
+	private final Relation fontFontChild = dependencies.newRelation();
+	private final Relation fontPropertiesChild = dependencies.newRelation();
+	private final Relation fontExtGStateParent = dependencies.newRelation();
+	private final Relation fontPageParent = dependencies.newRelation();
+	private final Relation fontPatternParent = dependencies.newRelation();
+	private final Relation fontXObjectParent = dependencies.newRelation();
+	private final Relation fontFontParent = dependencies.newRelation();
 
 	private Map<String, COSDictionary> properties = new HashMap<>();
-	private Map<String, Set<String>> propertyPageParent = new HashMap<>();
-	private Map<String, Set<String>> propertyPatternParent = new HashMap<>();
-	private Map<String, Set<String>> propertyXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> propertyFontParent = new HashMap<>();
+	private final Relation propertyPageParent = dependencies.newRelation();
+	private final Relation propertyPatternParent = dependencies.newRelation();
+	private final Relation propertyXObjectParent = dependencies.newRelation();
+	private final Relation propertyFontParent = dependencies.newRelation();
 
 	private Set<String> postscripts = new HashSet<>();
-	private Map<String, Set<String>> postscriptPageParent = new HashMap<>();
-	private Map<String, Set<String>> postscriptPatternParent = new HashMap<>();
-	private Map<String, Set<String>> postscriptXObjectParent = new HashMap<>();
-	private Map<String, Set<String>> postscriptFontParent = new HashMap<>();
+	private final Relation postscriptPageParent = dependencies.newRelation();
+	private final Relation postscriptPatternParent = dependencies.newRelation();
+	private final Relation postscriptXObjectParent = dependencies.newRelation();
+	private final Relation postscriptFontParent = dependencies.newRelation();
 
-	private PBFeatureParser(FeaturesReporter reporter) {
+	private PBFeatureParser(FeaturesReporter reporter, int firstPage, int lastPage) {
 		this.reporter = reporter;
+		this.firstPage = firstPage;
+		this.lastPage = lastPage;
 	}
 
 	/**
@@ -198,11 +204,31 @@ public final class PBFeatureParser {
 	 */
 	public static FeaturesCollection getFeaturesCollection(
 			final PDDocument document, final boolean isPluginsEnabled, final Path pluginsFolder) {
+		return getFeaturesCollection(document, isPluginsEnabled, pluginsFolder, 1, Integer.MAX_VALUE);
+	}
+
+	/**
+	 * Parses the document and returns Feature collection by using given
+	 * Features Reporter. Only pages from the given range and objects used by
+	 * them are reported, document level features are reported as usual.
+	 *
+	 * @param document         the document for parsing
+	 * @param firstPage        number of the first reported page, starting
+	 *                         from 1
+	 * @param lastPage         number of the last reported page, inclusive
+	 * @return FeaturesCollection class with information about all featurereport
+	 */
+	public static FeaturesCollection getFeaturesCollection(
+			final PDDocument document, final boolean isPluginsEnabled, final Path pluginsFolder,
+			final int firstPage, final int lastPage) {
+		if (firstPage < 1 || lastPage < firstPage) {
+			throw new IllegalArgumentException("Wrong page range: " + firstPage + " - " + lastPage);
+		}
 
 		FeaturesReporter reporter = new FeaturesReporter(isPluginsEnabled, pluginsFolder);
 
 		if (document != null) {
-			PBFeatureParser parser = new PBFeatureParser(reporter);
+			PBFeatureParser parser = new PBFeatureParser(reporter, firstPage, lastPage);
 			parser.parseDocumentFeatures(document);
 		}
 
@@ -223,7 +249,6 @@ public final class PBFeatureParser {
 
 		reporter.report(PBFeaturesObjectCreator
 				.createLowLvlInfoFeaturesObject(document.getDocument()));
-
 	}
 
 	private void getCatalogFeatures(PDDocumentCatalog catalog) {
@@ -442,19 +467,23 @@ public final class PBFeatureParser {
 	}
 
 	private void getPageTreeFeatures(PDPageTree pageTree) {
+		int pageIndex = 0;
 		for (PDPage page : pageTree) {
+			++pageIndex;
+			if (pageIndex < this.firstPage) {
+				continue;
+			}
+			if (pageIndex > this.lastPage) {
+				break;
+			}
 
-			int pageIndex = pageTree.indexOf(page) + 1;
 			Set<String> annotsId = addAnnotsDependencies(page, pageIndex);
 			String thumbID = null;
 
 			if (page.getCOSObject().getDictionaryObject(COSName.getPDFName("Thumb")) != null) {
 				COSBase baseThumb = page.getCOSObject().getItem(COSName.getPDFName("Thumb"));
 				thumbID = getId(baseThumb, XOBJECT_ID, imageXObjects.size() + formXObjects.size() + postscripts.size());
-				if (imageXObjectPageParent.get(thumbID) == null) {
-					imageXObjectPageParent.put(thumbID, new HashSet<String>());
-				}
-				imageXObjectPageParent.get(thumbID).add(PAGE + pageIndex);
+				imageXObjectPageParent.add(thumbID, PAGE + pageIndex);
 				if (!imageXObjects.containsKey(thumbID)) {
 					COSBase base = getBase(baseThumb);
 					if (base instanceof COSStream) {
@@ -524,10 +553,7 @@ public final class PBFeatureParser {
 				String id = getId(item, ANNOT, annots.keySet().size());
 				annotsId.add(id);
 
-				if (annotPagesParent.get(id) == null) {
-					annotPagesParent.put(id, new HashSet<String>());
-				}
-				annotPagesParent.get(id).add(PAGE + pageIndex);
+				annotPagesParent.add(id, PAGE + pageIndex);
 
 				COSBase base = getBase(item);
 
@@ -656,11 +682,7 @@ public final class PBFeatureParser {
 				iccProfiles.put(iccProfileID, outInt.getDestOutputIntent());
 			}
 
-			if (!iccProfileOutInts.containsKey(iccProfileID)) {
-				iccProfileOutInts.put(iccProfileID, new HashSet<String>());
-			}
-
-			iccProfileOutInts.get(iccProfileID).add(outIntID);
+			iccProfileOutInts.add(iccProfileID, outIntID);
 
 			return iccProfileID;
 		}
@@ -814,23 +836,23 @@ public final class PBFeatureParser {
 
 	private void getResourceDictionaryDependencies(PDResources resources,
 												   String parentID,
-												   Map<String, Set<String>> exGStateChildMap,
-												   Map<String, Set<String>> colorSpaceChildMap,
-												   Map<String, Set<String>> patternChildMap,
-												   Map<String, Set<String>> shadingChildMap,
-												   Map<String, Set<String>> xobjectChildMap,
-												   Map<String, Set<String>> fontChildMap,
-												   Map<String, Set<String>> propertiesChildMap,
-												   Map<String, Set<String>> exGStateParentMap,
-												   Map<String, Set<String>> colorSpaceParentMap,
-												   Map<String, Set<String>> tilingPatternParentMap,
-												   Map<String, Set<String>> shadingPatternParentMap,
-												   Map<String, Set<String>> shadingParentMap,
-												   Map<String, Set<String>> imageXObjectParentMap,
-												   Map<String, Set<String>> formXObjectParentMap,
-												   Map<String, Set<String>> postscriptParentMap,
-												   Map<String, Set<String>> fontParentMap,
-												   Map<String, Set<String>> propertiesParentMap) {
+												   Relation exGStateChildMap,
+												   Relation colorSpaceChildMap,
+												   Relation patternChildMap,
+												   Relation shadingChildMap,
+												   Relation xobjectChildMap,
+												   Relation fontChildMap,
+												   Relation propertiesChildMap,
+												   Relation exGStateParentMap,
+												   Relation colorSpaceParentMap,
+												   Relation tilingPatternParentMap,
+												   Relation shadingPatternParentMap,
+												   Relation shadingParentMap,
+												   Relation imageXObjectParentMap,
+												   Relation formXObjectParentMap,
+												   Relation postscriptParentMap,
+												   Relation fontParentMap,
+												   Relation propertiesParentMap) {
 		parseExGStateFromResource(resources, parentID, exGStateChildMap, exGStateParentMap);
 
 		if (resources == null) {
@@ -857,10 +879,7 @@ public final class PBFeatureParser {
 					}
 				} catch (IOException e) {
 					LOGGER.info(e);
-					if (!xobjectChildMap.containsKey(parentID)) {
-						xobjectChildMap.put(parentID, new HashSet<String>());
-					}
-					xobjectChildMap.get(parentID).add(id);
+					xobjectChildMap.add(parentID, id);
 					colorSpaceCreationProblem(id, e.getMessage());
 				}
 			}
@@ -890,10 +909,7 @@ public final class PBFeatureParser {
 
 			idColorSpace = checkColorSpaceID(idColorSpace, colorSpace);
 
-			if (colorSpaceXObjectParent.get(idColorSpace) == null) {
-				colorSpaceXObjectParent.put(idColorSpace, new HashSet<String>());
-			}
-			colorSpaceXObjectParent.get(idColorSpace).add(id);
+			colorSpaceXObjectParent.add(idColorSpace, id);
 			imageXObjectColorSpaceChild.put(id, idColorSpace);
 
 			if (!colorSpaces.containsKey(idColorSpace)) {
@@ -901,10 +917,7 @@ public final class PBFeatureParser {
 				parseColorSpace(colorSpace, idColorSpace);
 			}
 		} catch (IOException e) {
-			if (colorSpaceXObjectParent.get(idColorSpace) == null) {
-				colorSpaceXObjectParent.put(idColorSpace, new HashSet<String>());
-			}
-			colorSpaceXObjectParent.get(idColorSpace).add(id);
+			colorSpaceXObjectParent.add(idColorSpace, id);
 			imageXObjectColorSpaceChild.put(id, idColorSpace);
 			LOGGER.info(e);
 			colorSpaceCreationProblem(idColorSpace, e.getMessage());
@@ -915,10 +928,7 @@ public final class PBFeatureParser {
 			COSBase maskBase = ((COSStream) xobj.getCOSObject()).getItem(COSName.MASK);
 			String idMask = getId(maskBase, XOBJECT_ID, imageXObjects.size());
 
-			if (imageXObjectXObjectParent.get(idMask) == null) {
-				imageXObjectXObjectParent.put(idMask, new HashSet<String>());
-			}
-			imageXObjectXObjectParent.get(idMask).add(id);
+			imageXObjectXObjectParent.add(idMask, id);
 			imageXObjectMaskChild.put(id, idMask);
 
 			if (!imageXObjects.containsKey(idMask)) {
@@ -938,10 +948,7 @@ public final class PBFeatureParser {
 			COSBase sMaskBase = ((COSStream) xobj.getCOSObject()).getItem(COSName.SMASK);
 			String idMask = getId(sMaskBase, XOBJECT_ID, imageXObjects.size());
 
-			if (imageXObjectXObjectParent.get(idMask) == null) {
-				imageXObjectXObjectParent.put(idMask, new HashSet<String>());
-			}
-			imageXObjectXObjectParent.get(idMask).add(id);
+			imageXObjectXObjectParent.add(idMask, id);
 			imageXObjectSMaskChild.put(id, idMask);
 
 			if (!imageXObjects.containsKey(idMask)) {
@@ -987,10 +994,10 @@ public final class PBFeatureParser {
 
 	private void parseXObjectFromResources(PDResources resources,
 										   String parentID,
-										   Map<String, Set<String>> xobjectChildMap,
-										   Map<String, Set<String>> imageXObjectParentMap,
-										   Map<String, Set<String>> formXObjectParentMap,
-										   Map<String, Set<String>> postscriptParentMap) {
+										   Relation xobjectChildMap,
+										   Relation imageXObjectParentMap,
+										   Relation formXObjectParentMap,
+										   Relation postscriptParentMap) {
 		if (resources == null || resources.getXObjectNames() == null) {
 			return;
 		}
@@ -1026,10 +1033,7 @@ public final class PBFeatureParser {
 
 								idColorSpace = checkColorSpaceID(idColorSpace, colorSpace);
 
-								if (colorSpaceXObjectParent.get(idColorSpace) == null) {
-									colorSpaceXObjectParent.put(idColorSpace, new HashSet<String>());
-								}
-								colorSpaceXObjectParent.get(idColorSpace).add(id);
+								colorSpaceXObjectParent.add(idColorSpace, id);
 								groupXObjectColorSpaceChild.put(id, idColorSpace);
 
 								if (!colorSpaces.containsKey(idColorSpace)) {
@@ -1037,10 +1041,7 @@ public final class PBFeatureParser {
 									parseColorSpace(colorSpace, idColorSpace);
 								}
 							} catch (IOException e) {
-								if (colorSpaceXObjectParent.get(idColorSpace) == null) {
-									colorSpaceXObjectParent.put(idColorSpace, new HashSet<String>());
-								}
-								colorSpaceXObjectParent.get(idColorSpace).add(id);
+								colorSpaceXObjectParent.add(idColorSpace, id);
 								groupXObjectColorSpaceChild.put(id, idColorSpace);
 								LOGGER.info(e);
 								colorSpaceCreationProblem(idColorSpace, e.getMessage());
@@ -1081,8 +1082,8 @@ public final class PBFeatureParser {
 
 	private void parsePropertiesFromResources(PDResources resources,
 											  String parentID,
-											  Map<String, Set<String>> propertiesChildMap,
-											  Map<String, Set<String>> propertiesParentMap) {
+											  Relation propertiesChildMap,
+											  Relation propertiesParentMap) {
 		if (resources == null || resources.getPropertiesNames() == null) {
 			return;
 		}
@@ -1103,8 +1104,8 @@ public final class PBFeatureParser {
 
 	private void parseFontFromResources(PDResources resources,
 										String parentID,
-										Map<String, Set<String>> fontChildMap,
-										Map<String, Set<String>> fontParentMap) {
+										Relation fontChildMap,
+										Relation fontParentMap) {
 		if (resources == null || resources.getFontNames() == null) {
 			return;
 		}
@@ -1132,8 +1133,8 @@ public final class PBFeatureParser {
 
 	private void parseExGStateFromResource(PDResources resources,
 										   String parentID,
-										   Map<String, Set<String>> exGStateChildMap,
-										   Map<String, Set<String>> exGStateParentMap) {
+										   Relation exGStateChildMap,
+										   Relation exGStateParentMap) {
 		if (resources == null || resources.getExtGStateNames() == null) {
 			return;
 		}
@@ -1155,10 +1156,7 @@ public final class PBFeatureParser {
 
 				String fontID = getId(((COSArray) exGState.getFontSetting().getCOSObject()).get(0), FONT_ID, fonts.size());
 
-				if (fontExtGStateParent.get(fontID) == null) {
-					fontExtGStateParent.put(fontID, new HashSet<String>());
-				}
-				fontExtGStateParent.get(fontID).add(id);
+				fontExtGStateParent.add(fontID, id);
 				exGStateFontChild.put(id, fontID);
 
 				if (!fonts.containsKey(fontID)) {
@@ -1177,9 +1175,9 @@ public final class PBFeatureParser {
 
 	private void parsePatternFromResource(PDResources resources,
 										  String parentID,
-										  Map<String, Set<String>> patternChildMap,
-										  Map<String, Set<String>> tilingPatternParentMap,
-										  Map<String, Set<String>> shadingPatternParentMap) {
+										  Relation patternChildMap,
+										  Relation tilingPatternParentMap,
+										  Relation shadingPatternParentMap) {
 		if (resources == null || resources.getPatternNames() == null) {
 			return;
 		}
@@ -1190,19 +1188,13 @@ public final class PBFeatureParser {
 
 			String id = getId(base, PATTERN_ID, shadingPatterns.size() + tilingPatterns.size());
 
-			if (patternChildMap.get(parentID) == null) {
-				patternChildMap.put(parentID, new HashSet<String>());
-			}
-			patternChildMap.get(parentID).add(id);
+			patternChildMap.add(parentID, id);
 
 			try {
 				PDAbstractPattern pattern = resources.getPattern(name);
 
 				if (pattern instanceof PDTilingPattern) {
-					if (tilingPatternParentMap.get(id) == null) {
-						tilingPatternParentMap.put(id, new HashSet<String>());
-					}
-					tilingPatternParentMap.get(id).add(parentID);
+					tilingPatternParentMap.add(id, parentID);
 
 					if (!tilingPatterns.containsKey(id)) {
 						PDTilingPattern tilingPattern = (PDTilingPattern) pattern;
@@ -1230,10 +1222,7 @@ public final class PBFeatureParser {
 								propertyPatternParent);
 					}
 				} else {
-					if (shadingPatternParentMap.get(id) == null) {
-						shadingPatternParentMap.put(id, new HashSet<String>());
-					}
-					shadingPatternParentMap.get(id).add(parentID);
+					shadingPatternParentMap.add(id, parentID);
 
 					if (!shadingPatterns.containsKey(id)) {
 						PDShadingPattern shadingPattern = (PDShadingPattern) pattern;
@@ -1243,10 +1232,7 @@ public final class PBFeatureParser {
 						String shadingID = getId(baseShading, SHADING_ID, shadings.size());
 
 						shadingPatternShadingChild.put(id, shadingID);
-						if (shadingPatternParent.get(shadingID) == null) {
-							shadingPatternParent.put(shadingID, new HashSet<String>());
-						}
-						shadingPatternParent.get(shadingID).add(id);
+						shadingPatternParent.add(shadingID, id);
 
 						if (!shadings.containsKey(shadingID) && shadingPattern.getShading() != null) {
 							shadings.put(shadingID, shadingPattern.getShading());
@@ -1258,10 +1244,7 @@ public final class PBFeatureParser {
 						String exGStateID = getId(baseExGState, EXTGSTATE_ID, exGStates.size());
 
 						shadingPatternExtGStateChild.put(id, exGStateID);
-						if (exGStatePatternParent.get(exGStateID) == null) {
-							exGStatePatternParent.put(exGStateID, new HashSet<String>());
-						}
-						exGStatePatternParent.get(exGStateID).add(id);
+						exGStatePatternParent.add(exGStateID, id);
 
 						if (!exGStates.containsKey(exGStateID) && shadingPattern.getExtendedGraphicsState() != null) {
 							exGStates.put(exGStateID, shadingPattern.getExtendedGraphicsState());
@@ -1272,10 +1255,7 @@ public final class PBFeatureParser {
 
 							String fontID = getId(((COSArray) shadingPattern.getExtendedGraphicsState().getFontSetting().getCOSObject()).get(0), FONT_ID, fonts.size());
 
-							if (fontExtGStateParent.get(fontID) == null) {
-								fontExtGStateParent.put(fontID, new HashSet<String>());
-							}
-							fontExtGStateParent.get(fontID).add(exGStateID);
+							fontExtGStateParent.add(fontID, exGStateID);
 							exGStateFontChild.put(exGStateID, fontID);
 
 							if (!fonts.containsKey(fontID)) {
@@ -1300,8 +1280,8 @@ public final class PBFeatureParser {
 
 	private void parseShadingFromResource(PDResources resources,
 										  String parentID,
-										  Map<String, Set<String>> shadingChildMap,
-										  Map<String, Set<String>> shadingParentMap) {
+										  Relation shadingChildMap,
+										  Relation shadingParentMap) {
 
 		if (resources == null || resources.getShadingNames() == null) {
 			return;
@@ -1338,10 +1318,7 @@ public final class PBFeatureParser {
 
 			id = checkColorSpaceID(id, colorSpace);
 
-			if (colorSpaceShadingParent.get(id) == null) {
-				colorSpaceShadingParent.put(id, new HashSet<String>());
-			}
-			colorSpaceShadingParent.get(id).add(parentID);
+			colorSpaceShadingParent.add(id, parentID);
 			shadingColorSpaceChild.put(parentID, id);
 
 			if (!colorSpaces.containsKey(id)) {
@@ -1349,10 +1326,7 @@ public final class PBFeatureParser {
 				parseColorSpace(colorSpace, id);
 			}
 		} catch (IOException e) {
-			if (colorSpaceShadingParent.get(id) == null) {
-				colorSpaceShadingParent.put(id, new HashSet<String>());
-			}
-			colorSpaceShadingParent.get(id).add(parentID);
+			colorSpaceShadingParent.add(id, parentID);
 			shadingColorSpaceChild.put(parentID, id);
 			LOGGER.info(e);
 			colorSpaceCreationProblem(id, e.getMessage());
@@ -1404,10 +1378,7 @@ public final class PBFeatureParser {
 			COSBase base = array.get(1);
 			String id = getId(base, ICCPROFILE, iccProfiles.size());
 
-			if (iccProfileICCBased.get(id) == null) {
-				iccProfileICCBased.put(id, new HashSet<String>());
-			}
-			iccProfileICCBased.get(id).add(parentID);
+			iccProfileICCBased.add(id, parentID);
 			colorSpaceIccProfileChild.put(parentID, id);
 
 			if (!iccProfiles.containsKey(id)) {
@@ -1421,10 +1392,7 @@ public final class PBFeatureParser {
 				PDColorSpace altclr = iccBased.getAlternateColorSpace();
 				idAlt = checkColorSpaceID(idAlt, altclr);
 
-				if (colorSpaceColorSpaceParent.get(idAlt) == null) {
-					colorSpaceColorSpaceParent.put(idAlt, new HashSet<String>());
-				}
-				colorSpaceColorSpaceParent.get(idAlt).add(parentID);
+				colorSpaceColorSpaceParent.add(idAlt, parentID);
 				colorSpaceColorSpaceChild.put(parentID, idAlt);
 
 				if (!colorSpaces.containsKey(idAlt)) {
@@ -1463,10 +1431,7 @@ public final class PBFeatureParser {
 
 				id = checkColorSpaceID(id, alt);
 
-				if (colorSpaceColorSpaceParent.get(id) == null) {
-					colorSpaceColorSpaceParent.put(id, new HashSet<String>());
-				}
-				colorSpaceColorSpaceParent.get(id).add(parentID);
+				colorSpaceColorSpaceParent.add(id, parentID);
 				colorSpaceColorSpaceChild.put(parentID, id);
 
 				if (!colorSpaces.containsKey(id)) {
@@ -1497,17 +1462,10 @@ public final class PBFeatureParser {
 
 	private static void makePairDependence(String childID,
 										   String parentID,
-										   Map<String, Set<String>> childParentMap,
-										   Map<String, Set<String>> parentChildMap) {
-		if (parentChildMap.get(parentID) == null) {
-			parentChildMap.put(parentID, new HashSet<String>());
-		}
-		parentChildMap.get(parentID).add(childID);
-
-		if (childParentMap.get(childID) == null) {
-			childParentMap.put(childID, new HashSet<String>());
-		}
-		childParentMap.get(childID).add(parentID);
+										   Relation childParentMap,
+										   Relation parentChildMap) {
+		parentChildMap.add(parentID, childID);
+		childParentMap.add(childID, parentID);
 	}
 
 	private static COSBase getBase(final COSBase base) {
@@ -18,6 +18,7 @@ import org.verapdf.features.tools.FeatureTreeNode;
 import org.verapdf.features.tools.FeaturesCollection;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 /**
@@ -130,7 +131,10 @@ public class PBEmbeddedFileFeaturesObject implements IFeaturesObject {
 				LOGGER.error("Missed embedded file in PDComplexFileSpecification");
 				return null;
 			}
-			byte[] stream = PBCreateNodeHelper.inputStreamToByteArray(ef.getStream().getUnfilteredStream());
+			byte[] stream;
+			try (InputStream is = ef.getStream().getUnfilteredStream()) {
+				stream = PBCreateNodeHelper.inputStreamToByteArray(is, ef.getSize());
+			}
 
 			EmbeddedFileFeaturesData.Builder builder = new EmbeddedFileFeaturesData.Builder(stream);
 
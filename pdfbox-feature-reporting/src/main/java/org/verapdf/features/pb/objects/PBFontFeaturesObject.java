@@ -15,6 +15,7 @@ import org.verapdf.features.tools.FeatureTreeNode;
 import org.verapdf.features.tools.FeaturesCollection;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -194,7 +195,10 @@ public class PBFontFeaturesObject implements IFeaturesObject {
 			}
 			if (file != null) {
 				try {
-					byte[] stream = PBCreateNodeHelper.inputStreamToByteArray(file.getStream().getUnfilteredStream());
+					byte[] stream;
+					try (InputStream is = file.getStream().getUnfilteredStream()) {
+						stream = PBCreateNodeHelper.inputStreamToByteArray(is, getFontFileLength(file.getStream()));
+					}
 					FontFeaturesData.Builder builder = new FontFeaturesData.Builder(stream);
 
 					byte[] metadata = null;
@@ -248,6 +252,21 @@ public class PBFontFeaturesObject implements IFeaturesObject {
 		return null;
 	}
 
+	/**
+	 * @return decoded length of the font file as specified by Length1,
+	 * Length2 and Length3 entries, or -1 if there are no such entries
+	 */
+	private static long getFontFileLength(COSStream stream) {
+		long length = -1;
+		for (COSName key : new COSName[]{COSName.LENGTH1, COSName.LENGTH2, COSName.LENGTH3}) {
+			int value = stream.getInt(key);
+			if (value > 0) {
+				length = Math.max(length, 0) + value;
+			}
+		}
+		return length;
+	}
+
 	private static Double getNumber(Object value) {
 		if (value instanceof COSNumber) {
 			return ((COSNumber) value).doubleValue();
@@ -9,11 +9,14 @@ import org.verapdf.features.FeaturesObjectTypesEnum;
 import org.verapdf.features.ICCProfileFeaturesData;
 import org.verapdf.features.IFeaturesObject;
 import org.verapdf.features.pb.tools.PBCreateNodeHelper;
+import org.verapdf.features.pb.tools.PBICCProfileReader;
 import org.verapdf.features.tools.ErrorsHelper;
 import org.verapdf.features.tools.FeatureTreeNode;
 import org.verapdf.features.tools.FeaturesCollection;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.util.*;
 
@@ -28,12 +31,14 @@ public class PBICCProfileFeaturesObject implements IFeaturesObject {
 			.getLogger(PBICCProfileFeaturesObject.class);
 
 	private static final String ID = "id";
-	private static final int HEADER_SIZE = 128;
+	private static final int HEADER_SIZE = PBICCProfileReader.HEADER_SIZE;
 	private static final int FF_FLAG = 0xFF;
 	private static final int F_FLAG = 0x0F;
 	private static final int REQUIRED_LENGTH = 4;
 	private static final int TAGINFO_LENGTH = 12;
 	private static final int BITSINBYTE = 8;
+	private static final String CPRT = "cprt";
+	private static final String DESC = "desc";
 	private static final int VERSION_BYTE = 8;
 	private static final int SUBVERSION_BYTE = 9;
 	private static final int CMMTYPE_BEGIN = 4;
@@ -65,6 +70,7 @@ public class PBICCProfileFeaturesObject implements IFeaturesObject {
 	private String id;
 	private Set<String> outInts;
 	private Set<String> iccBaseds;
+	private PBICCProfileReader reader;
 
 	/**
 	 * Constructs new icc profile feature object
@@ -128,7 +134,10 @@ public class PBICCProfileFeaturesObject implements IFeaturesObject {
 	@Override
 	public FeaturesData getData() {
 		try {
-			byte[] stream = PBCreateNodeHelper.inputStreamToByteArray(profile.getUnfilteredStream());
+			byte[] stream;
+			try (InputStream is = profile.getUnfilteredStream()) {
+				stream = PBCreateNodeHelper.inputStreamToByteArray(is, getDeclaredSize());
+			}
 
 			byte[] metadata = null;
 			COSBase cosBase = profile.getDictionaryObject(COSName.METADATA);
@@ -175,6 +184,17 @@ public class PBICCProfileFeaturesObject implements IFeaturesObject {
 		}
 	}
 
+	/**
+	 * @return profile size from the header if the header has been already
+	 * read, -1 otherwise
+	 */
+	private long getDeclaredSize() {
+		if (this.reader != null && this.reader.getHeader().length >= REQUIRED_LENGTH) {
+			return PBICCProfileReader.toInt(this.reader.getHeader(), 0) & 0xFFFFFFFFL;
+		}
+		return -1;
+	}
+
 	private void addParents(FeatureTreeNode root) throws FeatureParsingException {
 		if ((outInts != null && !outInts.isEmpty()) || (iccBaseds != null && !iccBaseds.isEmpty())) {
 			FeatureTreeNode parents = FeatureTreeNode.createChildNode("parents", root);
@@ -201,25 +221,26 @@ public class PBICCProfileFeaturesObject implements IFeaturesObject {
 
 	private void parseProfileHeader(FeatureTreeNode root, FeaturesCollection collection) throws FeatureParsingException {
 		try {
-			byte[] profileBytes = PBCreateNodeHelper.inputStreamToByteArray(profile.getUnfilteredStream());
+			PBICCProfileReader reader = getReader();
+			byte[] header = reader.getHeader();
 
-			if (profileBytes.length < HEADER_SIZE) {
+			if (header.length < HEADER_SIZE) {
 				ErrorsHelper.addErrorIntoCollection(collection,
 						root,
 						"ICCProfile contains less than " + HEADER_SIZE + " bytes");
 			} else {
-				PBCreateNodeHelper.addNotEmptyNode("version", getVersion(profileBytes), root);
-				PBCreateNodeHelper.addNotEmptyNode("cmmType", getString(profileBytes, CMMTYPE_BEGIN, CMMTYPE_END), root);
-				PBCreateNodeHelper.addNotEmptyNode("dataColorSpace", getString(profileBytes, DATACOLORSPACE_BEGIN, DATACOLORSPACE_END), root);
-				PBCreateNodeHelper.addNotEmptyNode("creator", getString(profileBytes, CREATOR_BEGIN, CREATOR_END), root);
-				PBCreateNodeHelper.createDateNode("creationDate", root, getCreationDate(profileBytes), collection);
-				String intent = getIntent(getString(profileBytes, RENDERINGINTENT_BEGIN, RENDERINGINTENT_END));
+				PBCreateNodeHelper.addNotEmptyNode("version", getVersion(header), root);
+				PBCreateNodeHelper.addNotEmptyNode("cmmType", getString(header, CMMTYPE_BEGIN, CMMTYPE_END), root);
+				PBCreateNodeHelper.addNotEmptyNode("dataColorSpace", getString(header, DATACOLORSPACE_BEGIN, DATACOLORSPACE_END), root);
+				PBCreateNodeHelper.addNotEmptyNode("creator", getString(header, CREATOR_BEGIN, CREATOR_END), root);
+				PBCreateNodeHelper.createDateNode("creationDate", root, getCreationDate(header), collection);
+				String intent = getIntent(getString(header, RENDERINGINTENT_BEGIN, RENDERINGINTENT_END));
 				PBCreateNodeHelper.addNotEmptyNode("defaultRenderingIntent", intent, root);
-				PBCreateNodeHelper.addNotEmptyNode("copyright", getStringTag(profileBytes, "cprt", true), root);
-				PBCreateNodeHelper.addNotEmptyNode("description", getStringTag(profileBytes, "desc", false), root);
-				PBCreateNodeHelper.addNotEmptyNode("profileId", getString(profileBytes, PROFILEID_BEGIN, PROFILEID_END), root);
-				PBCreateNodeHelper.addNotEmptyNode("deviceModel", getString(profileBytes, DEVICEMODEL_BEGIN, DEVICEMODEL_END), root);
-				PBCreateNodeHelper.addNotEmptyNode("deviceManufacturer", getString(profileBytes, DEVICEMANUFACTURER_BEGIN, DEVICEMANUFACTURER_END), root);
+				PBCreateNodeHelper.addNotEmptyNode("copyright", getStringTag(reader.getTag(CPRT), true), root);
+				PBCreateNodeHelper.addNotEmptyNode("description", getStringTag(reader.getTag(DESC), false), root);
+				PBCreateNodeHelper.addNotEmptyNode("profileId", getString(header, PROFILEID_BEGIN, PROFILEID_END), root);
+				PBCreateNodeHelper.addNotEmptyNode("deviceModel", getString(header, DEVICEMODEL_BEGIN, DEVICEMODEL_END), root);
+				PBCreateNodeHelper.addNotEmptyNode("deviceManufacturer", getString(header, DEVICEMANUFACTURER_BEGIN, DEVICEMANUFACTURER_END), root);
 			}
 
 		} catch (IOException e) {
@@ -230,6 +251,13 @@ public class PBICCProfileFeaturesObject implements IFeaturesObject {
 		}
 	}
 
+	private PBICCProfileReader getReader() throws IOException {
+		if (this.reader == null) {
+			this.reader = PBICCProfileReader.read(this.profile, CPRT, DESC);
+		}
+		return this.reader;
+	}
+
 	private static String getIntent(String str) {
 		if (str == null) {
 			return "Perceptual";
@@ -297,69 +325,50 @@ public class PBICCProfileFeaturesObject implements IFeaturesObject {
 		return part;
 	}
 
-	private static String getStringTag(byte[] profileBytes, String tagName, boolean isCprt) {
-		if (profileBytes.length < HEADER_SIZE + REQUIRED_LENGTH) {
+	private static String getStringTag(byte[] tag, boolean isCprt) {
+		if (tag == null || tag.length < REQUIRED_LENGTH) {
 			return null;
 		}
 
-		int tagsNumberRemained = byteArrayToInt(Arrays.copyOfRange(profileBytes, HEADER_SIZE, HEADER_SIZE + REQUIRED_LENGTH));
-
-		int curOffset = HEADER_SIZE + REQUIRED_LENGTH;
-
-		while (tagsNumberRemained > 0 && curOffset + TAGINFO_LENGTH <= profileBytes.length) {
-			String tag = new String(Arrays.copyOfRange(profileBytes, curOffset, curOffset + REQUIRED_LENGTH));
-			if (tag.equals(tagName)) {
-				curOffset += REQUIRED_LENGTH;
-				int offset = byteArrayToInt(Arrays.copyOfRange(profileBytes, curOffset,
-						curOffset + REQUIRED_LENGTH));
-				curOffset += REQUIRED_LENGTH;
-				int length = byteArrayToInt(Arrays.copyOfRange(profileBytes, curOffset,
-						curOffset + REQUIRED_LENGTH));
-				if (profileBytes.length < offset + length) {
-					return null;
-				}
-
-				String type = new String(Arrays.copyOfRange(profileBytes, offset, offset + REQUIRED_LENGTH));
-				if ("mluc".equals(type)) {
-
-					int number = byteArrayToInt(Arrays.copyOfRange(profileBytes, offset + NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_BEGIN,
-							offset + NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_END));
-					int recOffset = offset + NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_END + REQUIRED_LENGTH;
-					for (int i = 0; i < number; ++i) {
-						String local = getString(profileBytes, recOffset, recOffset + REQUIRED_LENGTH);
-						if ("enUS".equals(local)) {
-							length = byteArrayToInt(Arrays.copyOfRange(profileBytes, recOffset + REQUIRED_LENGTH,
-									recOffset + REQUIRED_LENGTH + REQUIRED_LENGTH));
-							offset += byteArrayToInt(Arrays.copyOfRange(profileBytes, recOffset + REQUIRED_LENGTH * 2,
-									recOffset + REQUIRED_LENGTH * 2 + REQUIRED_LENGTH));
-							return new String(Arrays.copyOfRange(profileBytes, offset, offset + length), StandardCharsets.UTF_16BE).trim();
-						}
-					}
-				} else if ("desc".equals(type)) {
-					length = byteArrayToInt(Arrays.copyOfRange(profileBytes, offset + FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_BEGIN,
-							offset + FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_END));
-					offset += FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_END;
-				} else if (isCprt) {
-					offset += REQUIRED_LENGTH;
-					length -= REQUIRED_LENGTH;
-				} else {
-					return null;
+		int offset;
+		int length;
+		String type = new String(tag, 0, REQUIRED_LENGTH, StandardCharsets.US_ASCII);
+		if ("mluc".equals(type)) {
+			if (tag.length < NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_END) {
+				return null;
+			}
+			int number = PBICCProfileReader.toInt(tag, NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_BEGIN);
+			int recOffset = NUMBER_OF_RECORDS_IN_MULTILOCALIZEDUNICODETYPE_END + REQUIRED_LENGTH;
+			for (int i = 0; i < number && recOffset + TAGINFO_LENGTH <= tag.length; ++i) {
+				String local = getString(tag, recOffset, recOffset + REQUIRED_LENGTH);
+				if ("enUS".equals(local)) {
+					length = PBICCProfileReader.toInt(tag, recOffset + REQUIRED_LENGTH);
+					offset = PBICCProfileReader.toInt(tag, recOffset + REQUIRED_LENGTH * 2);
+					return getTagString(tag, offset, length, StandardCharsets.UTF_16BE);
 				}
-
-				return new String(Arrays.copyOfRange(profileBytes, offset, offset + length), StandardCharsets.US_ASCII).trim();
+				recOffset += TAGINFO_LENGTH;
 			}
-			curOffset += TAGINFO_LENGTH;
+			return null;
+		} else if ("desc".equals(type)) {
+			if (tag.length < FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_END) {
+				return null;
+			}
+			length = PBICCProfileReader.toInt(tag, FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_BEGIN);
+			offset = FIRST_RECORD_STRING_LENGTH_IN_TEXTDESCRIPTIONTYPE_END;
+		} else if (isCprt) {
+			offset = REQUIRED_LENGTH;
+			length = tag.length - REQUIRED_LENGTH;
+		} else {
+			return null;
 		}
 
-		return null;
+		return getTagString(tag, offset, length, StandardCharsets.US_ASCII);
 	}
 
-	private static int byteArrayToInt(byte[] b) {
-		int value = 0;
-		for (int i = 0; i < REQUIRED_LENGTH; i++) {
-			int shift = (REQUIRED_LENGTH - 1 - i) * BITSINBYTE;
-			value += (b[i] & FF_FLAG) << shift;
+	private static String getTagString(byte[] tag, int offset, int length, Charset charset) {
+		if (offset < 0 || length < 0 || (long) offset + length > tag.length) {
+			return null;
 		}
-		return value;
+		return new String(tag, offset, length, charset).trim();
 	}
 }
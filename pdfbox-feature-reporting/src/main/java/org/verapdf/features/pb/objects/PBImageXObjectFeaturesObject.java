@@ -12,6 +12,7 @@ import org.verapdf.features.tools.FeatureTreeNode;
 import org.verapdf.features.tools.FeaturesCollection;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.*;
 
 /**
@@ -141,7 +142,11 @@ public class PBImageXObjectFeaturesObject implements IFeaturesObject {
 	@Override
 	public FeaturesData getData() {
 		try {
-			byte[] stream = PBCreateNodeHelper.inputStreamToByteArray(imageXObject.getCOSStream().getFilteredStream());
+			COSStream imageStream = imageXObject.getCOSStream();
+			byte[] stream;
+			try (InputStream is = imageStream.getFilteredStream()) {
+				stream = PBCreateNodeHelper.inputStreamToByteArray(is, imageStream.getLong(COSName.LENGTH));
+			}
 			byte[] metadata = null;
 			if (imageXObject.getMetadata() != null) {
 				try {
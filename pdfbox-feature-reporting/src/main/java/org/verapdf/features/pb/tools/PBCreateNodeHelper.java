@@ -16,9 +16,9 @@ import javax.xml.bind.DatatypeConverter;
 import javax.xml.datatype.DatatypeConfigurationException;
 import javax.xml.datatype.DatatypeFactory;
 import javax.xml.datatype.XMLGregorianCalendar;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Calendar;
 import java.util.GregorianCalendar;
 import java.util.Locale;
@@ -34,6 +34,10 @@ public final class PBCreateNodeHelper {
 	private static final Logger LOGGER = Logger
 			.getLogger(PBCreateNodeHelper.class);
 
+	private static final int DEFAULT_BUFFER_LENGTH = 8192;
+	private static final int MAX_PREALLOCATED_LENGTH = 256 * 1024 * 1024;
+	private static final int MAX_ARRAY_LENGTH = Integer.MAX_VALUE - 8;
+
 	private static final String LLX = "llx";
 	private static final String LLY = "lly";
 	private static final String URX = "urx";
@@ -228,13 +232,51 @@ public final class PBCreateNodeHelper {
 	 *                     some other I/O error occurs.
 	 */
 	public static byte[] inputStreamToByteArray(InputStream is) throws IOException {
-		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		byte[] bytes = new byte[1024];
-		int length;
-		while ((length = is.read(bytes)) != -1) {
-			baos.write(bytes, 0, length);
+		return inputStreamToByteArray(is, -1);
+	}
+
+	/**
+	 * Generates byte array with contents of a stream. Stream is read directly
+	 * into the resulting array, so if the expected length is correct no
+	 * intermediate copies are made.
+	 *
+	 * @param is             input stream for converting
+	 * @param expectedLength expected number of bytes in the stream, or
+	 *                       negative value if it is unknown
+	 * @return byte array with contents of a stream
+	 * @throws IOException If the first byte cannot be read for any reason
+	 *                     other than end of file, or if the input stream has been closed, or if
+	 *                     some other I/O error occurs.
+	 */
+	public static byte[] inputStreamToByteArray(InputStream is, long expectedLength) throws IOException {
+		int capacity = expectedLength >= 0 ? (int) Math.min(expectedLength, MAX_PREALLOCATED_LENGTH)
+				: Math.max(is.available(), DEFAULT_BUFFER_LENGTH);
+		byte[] bytes = new byte[capacity];
+		int size = 0;
+		while (true) {
+			if (size == bytes.length) {
+				int next = is.read();
+				if (next == -1) {
+					return bytes;
+				}
+				bytes = grow(bytes, size);
+				bytes[size++] = (byte) next;
+				continue;
+			}
+			int length = is.read(bytes, size, bytes.length - size);
+			if (length == -1) {
+				return size == bytes.length ? bytes : Arrays.copyOf(bytes, size);
+			}
+			size += length;
+		}
+	}
+
+	private static byte[] grow(byte[] bytes, int size) {
+		if (size == MAX_ARRAY_LENGTH) {
+			throw new OutOfMemoryError("Stream is too large for a byte array");
 		}
-		return baos.toByteArray();
+		int capacity = (int) Math.min(Math.max(2L * size, DEFAULT_BUFFER_LENGTH), MAX_ARRAY_LENGTH);
+		return Arrays.copyOf(bytes, capacity);
 	}
 
 	/**
@@ -0,0 +1,186 @@
+package org.verapdf.features.pb.tools;
+
+import org.apache.pdfbox.cos.COSStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.*;
+
+/**
+ * Reads header and requested tags of an icc profile without decoding of
+ * the whole profile. Tag table is read right after the header, then the
+ * stream is skipped directly to the data of every requested tag.
+ */
+public final class PBICCProfileReader {
+
+	/**
+	 * Size of the icc profile header in bytes
+	 */
+	public static final int HEADER_SIZE = 128;
+
+	private static final int FF_FLAG = 0xFF;
+	private static final int REQUIRED_LENGTH = 4;
+	private static final int TAGINFO_LENGTH = 12;
+	private static final int BITSINBYTE = 8;
+	private static final int MAX_CHUNK_LENGTH = 64 * 1024;
+
+	private final byte[] header;
+	private final Map<String, byte[]> tags;
+
+	private PBICCProfileReader(byte[] header, Map<String, byte[]> tags) {
+		this.header = header;
+		this.tags = tags;
+	}
+
+	/**
+	 * Reads the header and the given tags of the profile
+	 *
+	 * @param profile    stream of the icc profile
+	 * @param signatures signatures of the tags to read
+	 * @return reader with the obtained data
+	 * @throws IOException if the profile stream can not be read
+	 */
+	public static PBICCProfileReader read(COSStream profile, String... signatures) throws IOException {
+		Map<String, long[]> entries = new HashMap<>();
+		byte[] header;
+		try (InputStream is = profile.getUnfilteredStream()) {
+			header = readBytes(is, HEADER_SIZE);
+			if (header.length < HEADER_SIZE) {
+				return new PBICCProfileReader(header, Collections.<String, byte[]>emptyMap());
+			}
+			readTagTable(is, entries, new HashSet<>(Arrays.asList(signatures)));
+		}
+
+		List<Map.Entry<String, long[]>> sorted = new ArrayList<>(entries.entrySet());
+		Collections.sort(sorted, new Comparator<Map.Entry<String, long[]>>() {
+			@Override
+			public int compare(Map.Entry<String, long[]> o1, Map.Entry<String, long[]> o2) {
+				return Long.compare(o1.getValue()[0], o2.getValue()[0]);
+			}
+		});
+
+		Map<String, byte[]> tags = new HashMap<>();
+		InputStream is = null;
+		long position = 0;
+		try {
+			for (Map.Entry<String, long[]> entry : sorted) {
+				long offset = entry.getValue()[0];
+				long length = entry.getValue()[1];
+				if (is == null || position > offset) {
+					if (is != null) {
+						is.close();
+					}
+					is = profile.getUnfilteredStream();
+					position = 0;
+				}
+				if (skipBytes(is, offset - position) < offset - position) {
+					break;
+				}
+				byte[] data = readBytes(is, length);
+				position = offset + data.length;
+				if (data.length == length) {
+					tags.put(entry.getKey(), data);
+				}
+			}
+		} finally {
+			if (is != null) {
+				is.close();
+			}
+		}
+		return new PBICCProfileReader(header, tags);
+	}
+
+	/**
+	 * @return header bytes of the profile, array is shorter than
+	 * {@link #HEADER_SIZE} if the profile is shorter than its header
+	 */
+	public byte[] getHeader() {
+		return this.header;
+	}
+
+	/**
+	 * @param signature signature of the tag
+	 * @return data of the first tag with the given signature or null if
+	 * there is no such tag or its data is out of the profile bounds
+	 */
+	public byte[] getTag(String signature) {
+		return this.tags.get(signature);
+	}
+
+	private static void readTagTable(InputStream is, Map<String, long[]> entries,
+									 Set<String> signatures) throws IOException {
+		byte[] count = readBytes(is, REQUIRED_LENGTH);
+		if (count.length < REQUIRED_LENGTH) {
+			return;
+		}
+		int tagsNumberRemained = toInt(count, 0);
+		while (tagsNumberRemained > 0 && entries.size() < signatures.size()) {
+			byte[] tagInfo = readBytes(is, TAGINFO_LENGTH);
+			if (tagInfo.length < TAGINFO_LENGTH) {
+				return;
+			}
+			String signature = new String(tagInfo, 0, REQUIRED_LENGTH);
+			if (signatures.contains(signature) && !entries.containsKey(signature)) {
+				long offset = toInt(tagInfo, REQUIRED_LENGTH) & 0xFFFFFFFFL;
+				long length = toInt(tagInfo, REQUIRED_LENGTH * 2) & 0xFFFFFFFFL;
+				entries.put(signature, new long[]{offset, length});
+			}
+			--tagsNumberRemained;
+		}
+	}
+
+	/**
+	 * Reads up to the given number of bytes. The result array is allocated
+	 * in chunks, so wrong lengths in the profile do not cause huge allocations.
+	 */
+	private static byte[] readBytes(InputStream is, long length) throws IOException {
+		byte[] res = new byte[(int) Math.min(length, MAX_CHUNK_LENGTH)];
+		int size = 0;
+		while (size < length) {
+			if (size == res.length) {
+				long capacity = Math.min(length, Math.min(2L * size, Integer.MAX_VALUE - 8));
+				if (capacity <= size) {
+					break;
+				}
+				res = Arrays.copyOf(res, (int) capacity);
+			}
+			int read = is.read(res, size, res.length - size);
+			if (read == -1) {
+				break;
+			}
+			size += read;
+		}
+		return size == res.length ? res : Arrays.copyOf(res, size);
+	}
+
+	private static long skipBytes(InputStream is, long length) throws IOException {
+		long skipped = 0;
+		while (skipped < length) {
+			long current = is.skip(length - skipped);
+			if (current <= 0) {
+				if (is.read() == -1) {
+					break;
+				}
+				current = 1;
+			}
+			skipped += current;
+		}
+		return skipped;
+	}
+
+	/**
+	 * Converts four bytes starting from the given offset to big-endian int
+	 *
+	 * @param bytes  source array
+	 * @param offset offset of the first byte
+	 * @return obtained value
+	 */
+	public static int toInt(byte[] bytes, int offset) {
+		int value = 0;
+		for (int i = 0; i < REQUIRED_LENGTH; i++) {
+			int shift = (REQUIRED_LENGTH - 1 - i) * BITSINBYTE;
+			value += (bytes[offset + i] & FF_FLAG) << shift;
+		}
+		return value;
+	}
+}
@@ -59,6 +59,19 @@ public class PBFeatureParserTest {
 
 	}
 
+	@Test
+	public void pageRangeTest() throws URISyntaxException, IOException {
+		File pdf = new File(TestNodeGenerator.getSystemIndependentPath("/FR.pdf"));
+		try (PDDocument document = PDDocument.load(pdf, false, true)) {
+			FeaturesCollection firstPage = PBFeatureParser.getFeaturesCollection(document, false, null, 1, 1);
+			assertEquals(collection.getFeatureTreesForType(FeaturesObjectTypesEnum.PAGE),
+					firstPage.getFeatureTreesForType(FeaturesObjectTypesEnum.PAGE));
+			FeaturesCollection outOfRange = PBFeatureParser.getFeaturesCollection(document, false, null, 2, 5);
+			assertEquals(0, outOfRange.getFeatureTreesForType(FeaturesObjectTypesEnum.PAGE).size());
+			assertEquals(1, outOfRange.getFeatureTreesForType(FeaturesObjectTypesEnum.METADATA).size());
+		}
+	}
+
 	@Test
 	public void typeErrorsCheck() {
 		for (FeaturesObjectTypesEnum type : FeaturesObjectTypesEnum.values()) {
@@ -0,0 +1,36 @@
+package org.verapdf.features.pb;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.HashSet;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class PBDependencyGraphTest {
+
+	@Test
+	public void relationTest() {
+		PBDependencyGraph graph = new PBDependencyGraph();
+		PBDependencyGraph.Relation relation = graph.newRelation();
+		PBDependencyGraph.Relation other = graph.newRelation();
+		for (int i = 0; i < 1000; ++i) {
+			relation.add("page" + i, "fnt" + (i % 3));
+			relation.add("page" + i, "fnt" + (i % 5));
+		}
+		other.add("page0", "clrsp0");
+
+		for (int i = 0; i < 1000; ++i) {
+			assertTrue(relation.containsKey("page" + i));
+			assertEquals(new HashSet<>(Arrays.asList("fnt" + (i % 3), "fnt" + (i % 5))),
+					relation.get("page" + i));
+		}
+		assertFalse(relation.containsKey("page1000"));
+		assertNull(relation.get("fnt0"));
+		assertFalse(other.containsKey("page1"));
+		assertEquals(new HashSet<>(Arrays.asList("clrsp0")), other.get("page0"));
+	}
+}
@@ -7,12 +7,16 @@ import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDDocumentCatalog;
 import org.apache.pdfbox.pdmodel.common.PDMetadata;
 import org.verapdf.model.impl.pb.cos.PBCosDocument;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.pdfa.ValidationModelParser;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.Closeable;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Current class is entry point to model implementation.
@@ -29,13 +33,62 @@ public final class ModelParser implements ValidationModelParser, Closeable {
 
     private final PDFAFlavour flavour;
 
+    private int pageParsingParallelism = 1;
+
+    private ExecutorService pageParsingExecutor = null;
+
     private ModelParser(PDDocument document, PDFAFlavour flavour) throws IOException {
         this.document = document;
         this.flavour = flavour;
     }
 
     public static ModelParser createModelWithFlavour(InputStream toLoad, PDFAFlavour flavour) throws IOException {
-        PDDocument document = PDDocument.load(toLoad, false, true);
+        return createModelWithFlavour(PDDocument.load(toLoad, false, true), flavour);
+    }
+
+    /**
+     * Creates model parser for the given file. Unlike stream based loading
+     * the file is not copied, it is read through random access and objects
+     * are resolved lazily via cross reference table.
+     *
+     * @param toLoad  pdf file
+     * @param flavour flavour of validation model
+     * @return model parser of the given file
+     * @throws IOException when target file can not be read or parsed
+     */
+    public static ModelParser createModelWithFlavour(File toLoad, PDFAFlavour flavour) throws IOException {
+        return createModelWithFlavour(toLoad, flavour, false);
+    }
+
+    /**
+     * Creates model parser for the given file. Unlike stream based loading
+     * the file is not copied, it is read through random access and objects
+     * are resolved lazily via cross reference table.
+     *
+     * @param toLoad          pdf file
+     * @param flavour         flavour of validation model
+     * @param useScratchFiles true if decoded streams must be buffered in
+     *                        temporary files instead of main memory
+     * @return model parser of the given file
+     * @throws IOException when target file can not be read or parsed
+     */
+    public static ModelParser createModelWithFlavour(File toLoad, PDFAFlavour flavour,
+                                                     boolean useScratchFiles) throws IOException {
+        return createModelWithFlavour(PDDocument.load(toLoad, useScratchFiles, true), flavour);
+    }
+
+    /**
+     * Creates model parser for the already loaded document. The document is
+     * closed together with the parser, several parsers of one document may
+     * be created to validate it against different flavours, in this case
+     * objects which do not depend on the flavour are shared between them.
+     *
+     * @param document loaded pdf document
+     * @param flavour  flavour of validation model
+     * @return model parser of the given document
+     * @throws IOException when the document can not be parsed
+     */
+    public static ModelParser createModelWithFlavour(PDDocument document, PDFAFlavour flavour) throws IOException {
         PDFAFlavour resultFlavour;
         if (flavour == PDFAFlavour.AUTO) {
             resultFlavour = obtainFlavour(document);
@@ -59,9 +112,12 @@ public final class ModelParser implements ValidationModelParser, Closeable {
         if (metadata == null) {
             return DEFAULT_FLAVOUR;
         }
+        if (metadata.getStream() == null) {
+            return DEFAULT_FLAVOUR;
+        }
         try {
-            InputStream is = metadata.exportXMPMetadata();
-            VeraPDFMeta veraPDFMeta = VeraPDFMeta.parse(is);
+            // parsed metadata is reused by the validation model of the document
+            VeraPDFMeta veraPDFMeta = DocumentCache.getInstance(document).getMetadata(metadata.getStream());
             Integer identificationPart = veraPDFMeta.getIdentificationPart();
             String identificationConformance = veraPDFMeta.getIdentificationConformance();
             PDFAFlavour pdfaFlavour = PDFAFlavour.byFlavourId(identificationPart + identificationConformance);
@@ -97,7 +153,47 @@ public final class ModelParser implements ValidationModelParser, Closeable {
      */
     @Override
     public org.verapdf.model.baselayer.Object getRoot() throws IOException {
-        return new PBCosDocument(this.document, this.flavour);
+        return new PBCosDocument(this.document, this.flavour,
+                this.pageParsingExecutor, this.pageParsingParallelism);
+    }
+
+    /**
+     * Enables parallel parsing of pages. If parallelism is greater than 1
+     * then content streams of the next pages are decoded by the validating
+     * thread and split into tokens by a fork/join pool of the given size
+     * while the current page is validated. At most the given number of
+     * pages is held ahead of the validating thread. Operators, annotations
+     * and transparency flags are still built by the validating thread, since
+     * pdfbox objects are not thread safe. The pool is shared by all models
+     * of this parser and stopped on close.
+     *
+     * @param pageParsingParallelism number of threads used to tokenise pages,
+     *                               1 by default
+     */
+    public void setPageParsingParallelism(int pageParsingParallelism) {
+        this.pageParsingParallelism = Math.max(1, pageParsingParallelism);
+        this.shutdownPageParsingExecutor();
+        if (this.pageParsingParallelism > 1) {
+            this.pageParsingExecutor = new ForkJoinPool(this.pageParsingParallelism);
+        }
+    }
+
+    private void shutdownPageParsingExecutor() {
+        if (this.pageParsingExecutor != null) {
+            this.pageParsingExecutor.shutdown();
+            this.pageParsingExecutor = null;
+        }
+    }
+
+    /**
+     * Embedded files larger than the given limit are not validated as
+     * PDF/A documents and are treated as non-compliant.
+     *
+     * @param embeddedFileSizeLimit maximum size of the validated embedded
+     *                              file in bytes, unlimited by default
+     */
+    public void setEmbeddedFileSizeLimit(long embeddedFileSizeLimit) {
+        DocumentCache.getInstance(this.document).setEmbeddedFileSizeLimit(embeddedFileSizeLimit);
     }
 
     @Override
@@ -107,8 +203,10 @@ public final class ModelParser implements ValidationModelParser, Closeable {
 
     @Override
 	public void close() {
+        this.shutdownPageParsingExecutor();
 		try {
             if (this.document != null) {
+                DocumentCache.release(this.document);
                 this.document.close();
             }
 		} catch (IOException e) {
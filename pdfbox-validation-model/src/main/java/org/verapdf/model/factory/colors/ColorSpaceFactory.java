@@ -10,6 +10,7 @@ import org.verapdf.model.impl.pb.pd.pattern.PBoxPDShadingPattern;
 import org.verapdf.model.impl.pb.pd.pattern.PBoxPDTilingPattern;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDPattern;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -69,6 +70,44 @@ public class ColorSpaceFactory {
 		if (colorSpace == null) {
 			return null;
 		}
+		String name = colorSpace.getName();
+		if (!isShareable(name, colorSpace)) {
+			return createColorSpace(colorSpace, pattern, resources, opm, overprintingFlag, document, flavour);
+		}
+		DocumentCache cache = DocumentCache.getInstance(document);
+		Object cached = cache.getWrapper(colorSpace.getCOSObject(), flavour, name);
+		if (cached != null) {
+			return (PDColorSpace) cached;
+		}
+		return cache.putWrapper(colorSpace.getCOSObject(), flavour, name,
+				createColorSpace(colorSpace, pattern, resources, opm, overprintingFlag, document, flavour));
+	}
+
+	/**
+	 * Color spaces are shared between all references in the document if
+	 * they do not depend on resources or graphic state of the referencing
+	 * content stream. Device color spaces are singletons already.
+	 */
+	private static boolean isShareable(String name,
+			org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace) {
+		switch (name) {
+			case CAL_GRAY:
+			case CAL_RGB:
+			case DEVICE_N:
+			case LAB:
+			case SEPARATION:
+			case INDEXED:
+				return true;
+			case ICC_BASED:
+				return colorSpace.getNumberOfComponents() != 4;
+			default:
+				return false;
+		}
+	}
+
+	private static PDColorSpace createColorSpace(
+			org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace colorSpace,
+			PDAbstractPattern pattern, PDInheritableResources resources, int opm, boolean overprintingFlag, PDDocument document, PDFAFlavour flavour) {
 		switch (colorSpace.getName()) {
 			case CAL_GRAY:
 				return new PBoxPDCalGray((PDCalGray) colorSpace);
@@ -114,7 +153,14 @@ public class ColorSpaceFactory {
 	public static PDPattern getPattern(PDAbstractPattern pattern, PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
 		if (pattern != null) {
 			if (pattern.getPatternType() == PDAbstractPattern.TYPE_SHADING_PATTERN) {
-				return new PBoxPDShadingPattern((PDShadingPattern) pattern, document, flavour);
+				DocumentCache cache = DocumentCache.getInstance(document);
+				Object cached = cache.getWrapper(pattern.getCOSObject(), flavour,
+						PBoxPDShadingPattern.SHADING_PATTERN_TYPE);
+				if (cached != null) {
+					return (PDPattern) cached;
+				}
+				return cache.putWrapper(pattern.getCOSObject(), flavour, PBoxPDShadingPattern.SHADING_PATTERN_TYPE,
+						new PBoxPDShadingPattern((PDShadingPattern) pattern, document, flavour));
 			} else if (pattern.getPatternType() == PDAbstractPattern.TYPE_TILING_PATTERN) {
 				PDTilingPattern tiling = (PDTilingPattern) pattern;
 				PDInheritableResources pdResources = resources.getExtendedResources(tiling.getResources());
@@ -1,5 +1,6 @@
 package org.verapdf.model.factory.font;
 
+import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.font.PDTrueTypeFont;
@@ -11,6 +12,7 @@ import org.verapdf.model.impl.pb.pd.font.PBoxPDType0Font;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDType1Font;
 import org.verapdf.model.impl.pb.pd.font.PBoxPDType3Font;
 import org.verapdf.model.pdlayer.PDFont;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -35,6 +37,8 @@ public final class FontFactory {
 	/** Type name for {@code CIDFontType2} font */
     public static final String CID_FONT_TYPE_2 = "CIDFontType2";
 
+	private static final COSBase[] NO_CONTEXT = new COSBase[0];
+
 
     private FontFactory() {
         // Disable default constructor
@@ -52,12 +56,38 @@ public final class FontFactory {
 		return parseFont(pdfboxFont, PDInheritableResources.EMPTY_EXTENDED_RESOURCES, document, flavour);
 	}
 
+	/**
+	 * Transform Apache PDFBox font representation to VeraPDF font
+	 * representation. Fonts are created once per document and shared by all
+	 * operators which use them, Type 3 fonts are shared by all operators
+	 * with the same page resources.
+	 *
+	 * @param pdfboxFont Apache PDFBox font representation
+	 * @param resources  resources of the content stream that uses font
+	 * @return VeraPDF font representation
+	 */
 	public static PDFont parseFont(
 			org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont,
 			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
 		if (pdfboxFont == null) {
 			return null;
 		}
+		String subType = pdfboxFont.getSubType();
+		// glyph procedures of Type 3 font inherit page resources of the content stream
+		COSBase[] context = TYPE_3.equals(subType) ?
+				new COSBase[]{resources.getPageResources().getCOSObject()} : NO_CONTEXT;
+		DocumentCache cache = DocumentCache.getInstance(document);
+		Object font = cache.getWrapper(pdfboxFont.getCOSObject(), flavour, subType, context);
+		if (font != null) {
+			return (PDFont) font;
+		}
+		return cache.putWrapper(pdfboxFont.getCOSObject(), flavour, subType,
+				createFont(pdfboxFont, resources, document, flavour), context);
+	}
+
+	private static PDFont createFont(
+			org.apache.pdfbox.pdmodel.font.PDFont pdfboxFont,
+			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
 		switch (pdfboxFont.getSubType()) {
 			case TYPE_0:
 				return new PBoxPDType0Font(pdfboxFont, document, flavour);
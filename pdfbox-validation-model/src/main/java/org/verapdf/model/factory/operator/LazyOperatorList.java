@@ -0,0 +1,131 @@
+package org.verapdf.model.factory.operator;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.model.operator.Operator;
+import org.verapdf.model.tools.cache.DocumentCache;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.IOException;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Unmodifiable list of veraPDF-library operators which is filled on demand
+ * from the underlying content stream parser. Tokens are pulled one by one and
+ * passed straight to the {@link OperatorParser}, so the full token list of the
+ * content stream is never built. Built operators are kept by the list, so
+ * memory is not bounded by the largest operator: once the stream is read to
+ * the end, which is done by {@link #size()}, all its operators are held.
+ * Random access and {@link #size()} parse the stream up to the requested
+ * position, iteration parses it step by step. Parser is closed as soon as the stream is parsed to the end, parsers of
+ * partially read lists are closed on {@link DocumentCache#release}.
+ */
+public final class LazyOperatorList extends AbstractList<Operator> {
+
+	private static final Logger LOGGER = Logger.getLogger(LazyOperatorList.class);
+
+	private final List<Operator> operators = new ArrayList<>();
+	private final OperatorParser parser;
+	private final PDInheritableResources resources;
+	private final DocumentCache cache;
+
+	private PDFStreamParser streamParser;
+	private List<COSBase> arguments = new ArrayList<>();
+
+	LazyOperatorList(PDFStreamParser streamParser, PDInheritableResources resources,
+					 PDDocument document, PDFAFlavour flavour) {
+		this.streamParser = streamParser;
+		this.resources = resources;
+		this.parser = new OperatorParser(document, flavour);
+		this.cache = DocumentCache.getInstance(document);
+		this.cache.addOpenParser(streamParser);
+	}
+
+	@Override
+	public Operator get(int index) {
+		this.parseUntil(index + 1);
+		return this.operators.get(index);
+	}
+
+	@Override
+	public int size() {
+		this.parseUntil(Integer.MAX_VALUE);
+		return this.operators.size();
+	}
+
+	@Override
+	public Iterator<Operator> iterator() {
+		return new Iterator<Operator>() {
+			private int cursor = 0;
+
+			@Override
+			public boolean hasNext() {
+				return hasOperator(this.cursor);
+			}
+
+			@Override
+			public Operator next() {
+				if (!this.hasNext()) {
+					throw new NoSuchElementException();
+				}
+				return get(this.cursor++);
+			}
+
+			@Override
+			public void remove() {
+				throw new UnsupportedOperationException();
+			}
+		};
+	}
+
+	private boolean hasOperator(int index) {
+		this.parseUntil(index + 1);
+		return index < this.operators.size();
+	}
+
+	private void parseUntil(int count) {
+		while (this.streamParser != null && this.operators.size() < count) {
+			this.parseNextToken();
+		}
+	}
+
+	private void parseNextToken() {
+		try {
+			Object token = this.streamParser.parseNextToken();
+			if (token == null) {
+				this.releaseParser();
+			} else if (token instanceof COSBase) {
+				this.arguments.add((COSBase) token);
+			} else if (token instanceof org.apache.pdfbox.contentstream.operator.Operator) {
+				OperatorFactory.parseOperator(this.parser, this.operators,
+						(org.apache.pdfbox.contentstream.operator.Operator) token,
+						this.resources, this.arguments);
+				this.arguments = new ArrayList<>();
+			} else {
+				LOGGER.error(OperatorFactory.MSG_UNEXPECTED_OBJECT_TYPE
+						+ token.getClass().getName());
+			}
+		} catch (IOException e) {
+			LOGGER.error("Error while parsing content stream. " + e.getMessage(), e);
+			this.releaseParser();
+		}
+	}
+
+	private void releaseParser() {
+		this.cache.removeOpenParser(this.streamParser);
+		try {
+			this.streamParser.close();
+		} catch (IOException e) {
+			LOGGER.debug("Error while closing content stream parser. " + e.getMessage(), e);
+		}
+		this.streamParser = null;
+		this.arguments = null;
+	}
+}
@@ -2,6 +2,7 @@ package org.verapdf.model.factory.operator;
 
 import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
 import org.verapdf.model.operator.Operator;
@@ -22,11 +23,9 @@ public final class OperatorFactory {
 
     private static final Logger LOGGER = Logger
             .getLogger(OperatorFactory.class);
-    private static final String MSG_UNEXPECTED_OBJECT_TYPE = "Unexpected type of object in tokens: ";
+    static final String MSG_UNEXPECTED_OBJECT_TYPE = "Unexpected type of object in tokens: ";
     private static final String GS_CLONE_MALFUNCTION = "GraphicsState clone function threw CloneNotSupportedException.";
 
-    private boolean isLastParsedContainsTransparency = false;
-
     private static final Map<String, TransparencyBehaviour> PAINT_OPERATORS_WITHOUT_TEXT;
     static {
         Map<String, TransparencyBehaviour> aMap = new HashMap<>();
@@ -72,11 +71,18 @@ public final class OperatorFactory {
         RENDERING_MODE = Collections.unmodifiableMap(aMap);
     }
 
-	/**
-     * @return true if during the last call of parsing method there was any transparency
+    /**
+     * @param operatorName  name of the pdfbox operator
+     * @param renderingMode current text rendering mode
+     * @return transparency checks of painting by the given operator or
+     * {@code null} if the operator does not paint
      */
-    public boolean isLastParsedContainsTransparency() {
-        return isLastParsedContainsTransparency;
+    public static TransparencyBehaviour getTransparencyBehaviour(String operatorName, RenderingMode renderingMode) {
+        TransparencyBehaviour behaviour = PAINT_OPERATORS_WITHOUT_TEXT.get(operatorName);
+        if (behaviour == null && PAINT_OPERATORS_TEXT.contains(operatorName)) {
+            behaviour = RENDERING_MODE.get(renderingMode);
+        }
+        return behaviour;
     }
 
     /**
@@ -93,34 +99,15 @@ public final class OperatorFactory {
                                               PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
         List<Operator> result = new ArrayList<>();
         List<COSBase> arguments = new ArrayList<>();
-        this.isLastParsedContainsTransparency = false;
         OperatorParser parser = new OperatorParser(document, flavour);
 
         for (Object pdfBoxToken : pdfBoxTokens) {
             if (pdfBoxToken instanceof COSBase) {
                 arguments.add((COSBase) pdfBoxToken);
             } else if (pdfBoxToken instanceof org.apache.pdfbox.contentstream.operator.Operator) {
-                try {
-                    parser.parseOperator(result,
-                            (org.apache.pdfbox.contentstream.operator.Operator) pdfBoxToken,
-                            resources, arguments);
-
-                    String parsedOperatorType = ((org.apache.pdfbox.contentstream.operator.Operator) pdfBoxToken).getName();
-                    GraphicState graphicState = parser.getGraphicState();
-                    if (PAINT_OPERATORS_WITHOUT_TEXT.containsKey(parsedOperatorType)) {
-                        isLastParsedContainsTransparency |= PAINT_OPERATORS_WITHOUT_TEXT.get(parsedOperatorType).containsTransparency(graphicState);
-                    } else {
-                        RenderingMode renderingMode = graphicState.getRenderingMode();
-                        if (PAINT_OPERATORS_TEXT.contains(parsedOperatorType) && RENDERING_MODE.containsKey(renderingMode)) {
-                            isLastParsedContainsTransparency |= RENDERING_MODE.get(renderingMode).containsTransparency(graphicState);
-                        }
-                    }
-                } catch (CloneNotSupportedException e) {
-                    LOGGER.debug("GraphicsState clone issues for pdfBoxToken:" + pdfBoxToken);
-                    LOGGER.debug(GS_CLONE_MALFUNCTION, e);
-                } catch (IOException e) {
-                    LOGGER.debug(e);
-                }
+                parseOperator(parser, result,
+                        (org.apache.pdfbox.contentstream.operator.Operator) pdfBoxToken,
+                        resources, arguments);
                 arguments = new ArrayList<>();
             } else {
                 LOGGER.error(MSG_UNEXPECTED_OBJECT_TYPE
@@ -129,4 +116,37 @@ public final class OperatorFactory {
         }
         return result;
     }
+
+    /**
+     * Converts pdfbox operators and arguments of the given content stream
+     * to the corresponding {@link Operator} objects of veraPDF-library without
+     * materialising the token list. Tokens are pulled from the stream parser
+     * only when the next operator is requested from the returned list, built
+     * operators are kept by the list.
+     *
+     * @param streamParser parser of the content stream, must not be parsed yet
+     * @param resources    resources for a given stream
+     * @return lazily filled list of {@link Operator} objects of veraPDF-library
+     */
+    public LazyOperatorList operatorsFromStream(PDFStreamParser streamParser,
+                                                PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+        return new LazyOperatorList(streamParser, resources, document, flavour);
+    }
+
+    /**
+     * Adds operators of veraPDF-library corresponding to the given pdfbox
+     * operator to the result list.
+     */
+    static void parseOperator(OperatorParser parser, List<Operator> result,
+                              org.apache.pdfbox.contentstream.operator.Operator pdfBoxOperator,
+                              PDInheritableResources resources, List<COSBase> arguments) {
+        try {
+            parser.parseOperator(result, pdfBoxOperator, resources, arguments);
+        } catch (CloneNotSupportedException e) {
+            LOGGER.debug("GraphicsState clone issues for pdfBoxToken:" + pdfBoxOperator);
+            LOGGER.debug(GS_CLONE_MALFUNCTION, e);
+        } catch (IOException e) {
+            LOGGER.debug(e);
+        }
+    }
 }
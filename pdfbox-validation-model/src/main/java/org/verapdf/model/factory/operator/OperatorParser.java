@@ -73,6 +73,8 @@ class OperatorParser {
 
 	private final Deque<GraphicState> graphicStateStack = new ArrayDeque<>();
 	private final GraphicState graphicState = new GraphicState();
+	/** Immutable copy of current graphic state or null if the state was changed since it was made */
+	private GraphicState snapshot = null;
 
 	private final PDDocument document;
 	private final PDFAFlavour flavour;
@@ -89,6 +91,27 @@ class OperatorParser {
 		return gs;
 	}
 
+	/**
+	 * Snapshot of the current graphic state for operators which keep it.
+	 * Copy is made only if the state was changed since the last snapshot,
+	 * so operators and saved states with the same graphic state share it.
+	 * Snapshots are never modified.
+	 */
+	private GraphicState getGraphicStateSnapshot() throws CloneNotSupportedException {
+		if (this.snapshot == null) {
+			this.snapshot = this.graphicState.clone();
+		}
+		return this.snapshot;
+	}
+
+	/**
+	 * @return current graphic state which is going to be changed
+	 */
+	private GraphicState mutableGraphicState() {
+		this.snapshot = null;
+		return this.graphicState;
+	}
+
 	void parseOperator(List<Operator> operators,
 					   org.apache.pdfbox.contentstream.operator.Operator pdfBoxOperator,
 					   PDInheritableResources resources, List<COSBase> arguments)
@@ -151,52 +174,52 @@ class OperatorParser {
 			case Operators.G_STROKE: {
 				cs = resources == null ? PDDeviceGray.INSTANCE :
 						resources.getColorSpace(COSName.DEVICEGRAY);
-				this.graphicState.setStrokeColorSpace(cs);
+				this.mutableGraphicState().setStrokeColorSpace(cs);
 				operators.add(new PBOpColor(arguments));
 				break;
 			}
 			case Operators.G_FILL: {
 				cs = resources == null ? PDDeviceGray.INSTANCE :
 						resources.getColorSpace(COSName.DEVICEGRAY);
-				this.graphicState.setFillColorSpace(cs);
+				this.mutableGraphicState().setFillColorSpace(cs);
 				operators.add(new PBOpColor(arguments));
 				break;
 			}
 			case Operators.RG_STROKE: {
 				cs = resources == null ? PDDeviceRGB.INSTANCE :
 						resources.getColorSpace(COSName.DEVICERGB);
-				this.graphicState.setStrokeColorSpace(cs);
+				this.mutableGraphicState().setStrokeColorSpace(cs);
 				operators.add(new PBOpColor(arguments));
 				break;
 			}
 			case Operators.RG_FILL: {
 				cs = resources == null ? PDDeviceRGB.INSTANCE :
 						resources.getColorSpace(COSName.DEVICERGB);
-				this.graphicState.setFillColorSpace(cs);
+				this.mutableGraphicState().setFillColorSpace(cs);
 				operators.add(new PBOpColor(arguments));
 				break;
 			}
 			case Operators.K_STROKE: {
 				cs = resources == null ? PDDeviceCMYK.INSTANCE :
 						resources.getColorSpace(COSName.DEVICECMYK);
-				this.graphicState.setStrokeColorSpace(cs);
+				this.mutableGraphicState().setStrokeColorSpace(cs);
 				operators.add(new PBOpColor(arguments));
 				break;
 			}
 			case Operators.K_FILL: {
 				cs = resources == null ? PDDeviceCMYK.INSTANCE :
 						resources.getColorSpace(COSName.DEVICECMYK);
-				this.graphicState.setFillColorSpace(cs);
+				this.mutableGraphicState().setFillColorSpace(cs);
 				operators.add(new PBOpColor(arguments));
 				break;
 			}
 			case Operators.CS_STROKE:
-				this.graphicState.setStrokeColorSpace(getColorSpaceFromResources(
+				this.mutableGraphicState().setStrokeColorSpace(getColorSpaceFromResources(
 						resources, getLastCOSName(arguments)));
 				operators.add(new PBOpColor(arguments));
 				break;
 			case Operators.CS_FILL:
-				this.graphicState.setFillColorSpace(getColorSpaceFromResources(
+				this.mutableGraphicState().setFillColorSpace(getColorSpaceFromResources(
 						resources, getLastCOSName(arguments)));
 				operators.add(new PBOpColor(arguments));
 				break;
@@ -237,22 +260,22 @@ class OperatorParser {
 
 			// TEXT SHOW
 			case Operators.TJ_SHOW:
-				PBOp_Tj tj = new PBOp_Tj(arguments, this.graphicState.clone(), resources, this.document, this.flavour);
+				PBOp_Tj tj = new PBOp_Tj(arguments, this.getGraphicStateSnapshot(), resources, this.document, this.flavour);
 				addFontAndColorSpace(tj);
 				operators.add(tj);
 				break;
 			case Operators.TJ_SHOW_POS:
-				PBOp_TJ_Big tj_big = new PBOp_TJ_Big(arguments, this.graphicState.clone(), resources, this.document, this.flavour);
+				PBOp_TJ_Big tj_big = new PBOp_TJ_Big(arguments, this.getGraphicStateSnapshot(), resources, this.document, this.flavour);
 				addFontAndColorSpace(tj_big);
 				operators.add(tj_big);
 				break;
 			case Operators.QUOTE:
-				PBOp_Quote quote = new PBOp_Quote(arguments, this.graphicState.clone(), resources, this.document, this.flavour);
+				PBOp_Quote quote = new PBOp_Quote(arguments, this.getGraphicStateSnapshot(), resources, this.document, this.flavour);
 				addFontAndColorSpace(quote);
 				operators.add(quote);
 				break;
 			case Operators.DOUBLE_QUOTE:
-				PBOp_DoubleQuote doubleQuote = new PBOp_DoubleQuote(arguments, this.graphicState.clone(), resources, this.document, this.flavour);
+				PBOp_DoubleQuote doubleQuote = new PBOp_DoubleQuote(arguments, this.getGraphicStateSnapshot(), resources, this.document, this.flavour);
 				addFontAndColorSpace(doubleQuote);
 				operators.add(doubleQuote);
 				break;
@@ -262,11 +285,11 @@ class OperatorParser {
 				operators.add(new PBOp_Tz(arguments));
 				break;
 			case Operators.TR:
-				this.graphicState.setRenderingMode(getRenderingMode(arguments));
+				this.mutableGraphicState().setRenderingMode(getRenderingMode(arguments));
 				operators.add(new PBOp_Tr(arguments));
 				break;
 			case Operators.TF:
-				this.graphicState.setFontName(getFirstCOSName(arguments));
+				this.mutableGraphicState().setFontName(getFirstCOSName(arguments));
 				operators.add(new PBOp_Tf(arguments));
 				break;
 			case Operators.TC:
@@ -399,12 +422,15 @@ class OperatorParser {
 				break;
 			case Operators.Q_GRESTORE:
 				if (!graphicStateStack.isEmpty()) {
-					this.graphicState.copyProperties(this.graphicStateStack.pop());
+					GraphicState saved = this.graphicStateStack.pop();
+					this.graphicState.copyProperties(saved);
+					// restored state is equal to the saved one, so it can be reused as snapshot
+					this.snapshot = saved;
 				}
 				operators.add(new PBOp_Q_grestore(arguments));
 				break;
 			case Operators.Q_GSAVE:
-				this.graphicStateStack.push(this.graphicState.clone());
+				this.graphicStateStack.push(this.getGraphicStateSnapshot());
 				operators.add(new PBOp_q_gsave(arguments, this.graphicStateStack.size()));
 				break;
 
@@ -415,7 +441,7 @@ class OperatorParser {
 				List<org.verapdf.model.pdlayer.PDXObject> pdxObjects = op.getXObject();
 				if (!pdxObjects.isEmpty()) {
 					PBoxPDXObject xobj = (PBoxPDXObject) pdxObjects.get(0);
-					this.graphicState.setVeraXObject(xobj);
+					this.mutableGraphicState().setVeraXObject(xobj);
 				}
 				operators.add(op);
 				break;
@@ -429,7 +455,7 @@ class OperatorParser {
 										  PDInheritableResources resources, List<COSBase> arguments) {
 		if (colorSpace != null &&
 				ColorSpaceFactory.PATTERN.equals(colorSpace.getName())) {
-			graphicState.setFillPattern(getPatternFromResources(resources,
+			this.mutableGraphicState().setFillPattern(getPatternFromResources(resources,
 					getLastCOSName(arguments)));
 		}
 		operators.add(new PBOpColor(arguments));
@@ -439,7 +465,7 @@ class OperatorParser {
 											PDInheritableResources resources, List<COSBase> arguments) {
 		if (colorSpace != null &&
 				ColorSpaceFactory.PATTERN.equals(colorSpace.getName())) {
-			graphicState.setStrokePattern(getPatternFromResources(resources,
+			this.mutableGraphicState().setStrokePattern(getPatternFromResources(resources,
 					getLastCOSName(arguments)));
 		}
 		operators.add(new PBOpColor(arguments));
@@ -449,7 +475,7 @@ class OperatorParser {
 							  PDInheritableResources resources, List<COSBase> arguments) {
 		PDExtendedGraphicsState extGState = getExtGStateFromResources(resources,
 				getLastCOSName(arguments));
-		graphicState.copyPropertiesFromExtGState(extGState);
+		this.mutableGraphicState().copyPropertiesFromExtGState(extGState);
 		operators.add(new PBOp_gs(arguments, extGState, this.document, this.flavour));
 	}
 
@@ -567,19 +593,19 @@ class OperatorParser {
 
 	private void addFontAndColorSpace(PBOpTextShow op) {
 		PBoxPDFont font = (PBoxPDFont) op.getVeraModelFont();
-		this.graphicState.setVeraFont(font);
+		this.mutableGraphicState().setVeraFont(font);
 		byte[] charCodes = op.getCharCodes();
-		this.graphicState.setCharCodes(charCodes);
+		this.mutableGraphicState().setCharCodes(charCodes);
 		PBoxPDColorSpace fillCS = (PBoxPDColorSpace) op.getVeraModelFillColorSpace();
-		this.graphicState.setVeraFillColorSpace(fillCS);
+		this.mutableGraphicState().setVeraFillColorSpace(fillCS);
 		PBoxPDColorSpace strokeCS = (PBoxPDColorSpace) op.getVeraModelStrokeColorSpace();
-		this.graphicState.setVeraStrokeColorSpace(strokeCS);
+		this.mutableGraphicState().setVeraStrokeColorSpace(strokeCS);
 	}
 
 	private void addColorSpace(PBOpPathPaint op) {
 		PBoxPDColorSpace fillCS = (PBoxPDColorSpace) op.getVeraModelFillCS();
-		this.graphicState.setVeraFillColorSpace(fillCS);
+		this.mutableGraphicState().setVeraFillColorSpace(fillCS);
 		PBoxPDColorSpace strokeCS = (PBoxPDColorSpace) op.getVeraModelStrokeCS();
-		this.graphicState.setVeraStrokeColorSpace(strokeCS);
+		this.mutableGraphicState().setVeraStrokeColorSpace(strokeCS);
 	}
 }
@@ -0,0 +1,40 @@
+package org.verapdf.model.impl.pb.cos;
+
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.verapdf.model.coslayer.CosIndirect;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Unmodifiable view of the document indirect objects. Wrappers are created
+ * on access and are not retained by the list. Wrappers of their direct
+ * objects are held by {@link org.verapdf.model.tools.cache.DocumentCache}
+ * weakly, so rules over indirect objects walk through the document without
+ * holding a wrapper per object.
+ */
+final class IndirectObjectList extends AbstractList<CosIndirect> implements RandomAccess {
+
+	private final List<COSObject> objects;
+	private final PDDocument document;
+	private final PDFAFlavour flavour;
+
+	IndirectObjectList(List<COSObject> objects, PDDocument document, PDFAFlavour flavour) {
+		this.objects = objects;
+		this.document = document;
+		this.flavour = flavour;
+	}
+
+	@Override
+	public CosIndirect get(int index) {
+		return new PBCosIndirect(this.objects.get(index), this.document, this.flavour);
+	}
+
+	@Override
+	public int size() {
+		return this.objects.size();
+	}
+}
@@ -12,10 +12,12 @@ import org.verapdf.model.coslayer.CosTrailer;
 import org.verapdf.model.coslayer.CosXRef;
 import org.verapdf.model.impl.pb.pd.PBoxPDDocument;
 import org.verapdf.model.tools.XMPChecker;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
 
 /**
  * Low-level PDF Document object
@@ -40,6 +42,8 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 	private final PDFAFlavour flavour;
 
     private PDDocument pdDocument;
+    private ExecutorService pageParsingExecutor = null;
+    private int pageParsingParallelism = 1;
 
     private final long indirectObjectCount;
     private final float version;
@@ -64,8 +68,21 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
      * @param pdDocument pdfbox PDDocument
      */
 	public PBCosDocument(PDDocument pdDocument, PDFAFlavour flavour) {
-        this(pdDocument.getDocument(), flavour);
-        this.pdDocument = pdDocument;
+        this(pdDocument.getDocument(), pdDocument, flavour);
+    }
+
+    /**
+     * @param pdDocument             pdfbox PDDocument
+     * @param pageParsingExecutor    executor which tokenises pages of the
+     *                               high-level document structure
+     * @param pageParsingParallelism number of pages tokenised ahead of the rule engine
+     * @see PBoxPDDocument#PBoxPDDocument(PDDocument, PDFAFlavour, ExecutorService, int)
+     */
+	public PBCosDocument(PDDocument pdDocument, PDFAFlavour flavour,
+						 ExecutorService pageParsingExecutor, int pageParsingParallelism) {
+        this(pdDocument, flavour);
+        this.pageParsingExecutor = pageParsingExecutor;
+        this.pageParsingParallelism = pageParsingParallelism;
     }
 
     /**
@@ -73,7 +90,12 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
      * @param cosDocument pdfbox COSDocument
      */
     public PBCosDocument(COSDocument cosDocument, PDFAFlavour flavour) {
+        this(cosDocument, null, flavour);
+    }
+
+    private PBCosDocument(COSDocument cosDocument, PDDocument pdDocument, PDFAFlavour flavour) {
         super(cosDocument, COS_DOCUMENT_TYPE);
+        this.pdDocument = pdDocument;
 		this.catalog = this.getCatalog();
 		this.flavour = flavour;
 
@@ -93,7 +115,8 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 				.getFirstPageTrailer().getDictionaryObject(ID));
 		this.isLinearised = cosDocument.getTrailer() != cosDocument
                 .getLastTrailer() && cosDocument.isLinearized();
-		this.doesInfoMatchXMP = XMPChecker.doesInfoMatchXMP(cosDocument);
+		this.doesInfoMatchXMP = XMPChecker.doesInfoMatchXMP(cosDocument,
+				DocumentCache.getInstance(pdDocument));
 		this.needsRendering = this.getNeedsRenderingValue();
     }
 
@@ -336,11 +359,7 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
     private List<CosIndirect> getIndirectObjects() {
 		List<COSObject> objects = ((COSDocument) this.baseObject)
 				.getObjects();
-		List<CosIndirect> list = new ArrayList<>(objects.size());
-		for (COSObject object : objects) {
-            list.add(new PBCosIndirect(object, this.pdDocument, this.flavour));
-        }
-        return Collections.unmodifiableList(list);
+		return new IndirectObjectList(objects, this.pdDocument, this.flavour);
     }
 
     /**
@@ -350,7 +369,7 @@ public class PBCosDocument extends PBCosObject implements CosDocument {
 		if (pdDocument != null) {
 			List<org.verapdf.model.pdlayer.PDDocument> document =
 					new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			document.add(new PBoxPDDocument(pdDocument, flavour));
+			document.add(new PBoxPDDocument(pdDocument, flavour, pageParsingExecutor, pageParsingParallelism));
 			return Collections.unmodifiableList(document);
 		}
         return Collections.emptyList();
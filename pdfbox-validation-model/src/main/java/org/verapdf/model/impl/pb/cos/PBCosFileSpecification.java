@@ -71,7 +71,7 @@ public class PBCosFileSpecification extends PBCosDict implements
 				.getDictionaryObject(COSName.EF);
 		if (efDictionary instanceof COSDictionary) {
 			ArrayList<EmbeddedFile> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-			list.add(new PBoxEmbeddedFile((COSDictionary) efDictionary));
+			list.add(new PBoxEmbeddedFile((COSDictionary) efDictionary, this.document));
 			return Collections.unmodifiableList(list);
 		}
 		return Collections.emptyList();
@@ -1,11 +1,12 @@
 package org.verapdf.model.impl.pb.external;
 
 import org.apache.fontbox.cmap.CMap;
-import org.apache.fontbox.cmap.CMapParser;
 import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.external.CMapFile;
+import org.verapdf.model.tools.cache.DocumentCache;
 
 import java.io.IOException;
 
@@ -25,6 +26,7 @@ public class PBoxCMapFile extends PBoxExternal implements CMapFile {
     public static final String CMAP_FILE_TYPE = "CMapFile";
 
     private final COSStream fileStream;
+    private final PDDocument document;
 
     /**
      * Default constructor.
@@ -32,8 +34,18 @@ public class PBoxCMapFile extends PBoxExternal implements CMapFile {
      * @param fileStream stream of CMapFile
      */
     public PBoxCMapFile(final COSStream fileStream) {
+        this(fileStream, null);
+    }
+
+    /**
+     * @param fileStream stream of CMapFile
+     * @param document   document containing the CMap, parsed CMaps are
+     *                   shared within this document
+     */
+    public PBoxCMapFile(final COSStream fileStream, final PDDocument document) {
         super(CMAP_FILE_TYPE);
         this.fileStream = fileStream;
+        this.document = document;
     }
 
     /**
@@ -41,7 +53,7 @@ public class PBoxCMapFile extends PBoxExternal implements CMapFile {
      */
     public Long getWMode() {
         try {
-            CMap map = new CMapParser().parse(fileStream.getUnfilteredStream());
+            CMap map = DocumentCache.getInstance(this.document).getCMap(this.fileStream);
             return Long.valueOf(map.getWMode());
         } catch (IOException e) {
             LOGGER.error("Could not parse CMap", e);
@@ -5,14 +5,21 @@ import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
 import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.ModelParser;
 import org.verapdf.model.external.EmbeddedFile;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.pdfa.PDFAValidator;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 import org.verapdf.pdfa.results.ValidationResult;
 import org.verapdf.pdfa.validators.Validators;
 
+import javax.xml.bind.DatatypeConverter;
+import java.io.FilterInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 
 /**
  * Embedded file representation implemented by Apache PDFBox
@@ -26,9 +33,22 @@ public class PBoxEmbeddedFile extends PBoxExternal implements EmbeddedFile {
 	/** Type name for {@code PBoxEmbeddedFile} */
 	public static final String EMBEDDED_FILE_TYPE = "EmbeddedFile";
 
+	private static final String DIGEST_ALGORITHM = "SHA-256";
+	private static final int BUFFER_SIZE = 8192;
+
 	private final COSStream stream;
+	private final PDDocument document;
 
 	public PBoxEmbeddedFile(COSDictionary dictionary) {
+		this(dictionary, null);
+	}
+
+	/**
+	 * @param dictionary embedded file dictionary of the file specification
+	 * @param document   document containing the embedded file, compliance
+	 *                   of embedded files is cached per this document
+	 */
+	public PBoxEmbeddedFile(COSDictionary dictionary, PDDocument document) {
 		super(EMBEDDED_FILE_TYPE);
 		COSBase baseStream = dictionary.getDictionaryObject(COSName.F);
 		if (baseStream instanceof COSStream) {
@@ -36,6 +56,7 @@ public class PBoxEmbeddedFile extends PBoxExternal implements EmbeddedFile {
 		} else {
 			this.stream = null;
 		}
+		this.document = document;
 	}
 
 	@Override
@@ -46,31 +67,152 @@ public class PBoxEmbeddedFile extends PBoxExternal implements EmbeddedFile {
 		return null;
 	}
 
+	/**
+	 * Embedded file is loaded once and validated against PDF/A-1b and, if
+	 * it is not compliant, against PDF/A-2b. Result is cached per stream and
+	 * per content digest. Digest is computed by a separate streaming pass
+	 * before loading, so the same attachment is loaded and validated once
+	 * per document.
+	 */
 	@Override
 	public Boolean getisValidPDFA12() {
-		if (this.stream != null) {
+		if (this.stream == null) {
+			return Boolean.TRUE;
+		}
+		DocumentCache cache = DocumentCache.getInstance(this.document);
+		Boolean verdict = cache.getEmbeddedFileVerdict(this.stream);
+		if (verdict == null) {
+			verdict = validate(cache);
+			cache.putEmbeddedFileVerdict(this.stream, verdict);
+		}
+		return verdict;
+	}
+
+	private Boolean validate(DocumentCache cache) {
+		long limit = cache.getEmbeddedFileSizeLimit();
+		if (this.stream.getLong(COSName.LENGTH) > limit || getDeclaredSize() > limit) {
+			LOGGER.warn("Embedded file is larger than " + limit + " bytes and is not validated");
+			return Boolean.FALSE;
+		}
+		String key;
+		try {
+			key = this.getDigest(limit);
+		} catch (IOException e) {
+			LOGGER.debug("Exception during reading of embedded file", e);
+			return Boolean.FALSE;
+		}
+		Boolean verdict = cache.getEmbeddedFileVerdict(key);
+		if (verdict == null) {
+			verdict = this.isValidPDFA(limit);
+			cache.putEmbeddedFileVerdict(key, verdict);
+		}
+		return verdict;
+	}
+
+	private String getDigest(long limit) throws IOException {
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance(DIGEST_ALGORITHM);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(DIGEST_ALGORITHM + " digest is not supported", e);
+		}
+		try (InputStream content = new LimitedInputStream(this.stream.getUnfilteredStream(), limit)) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while ((read = content.read(buffer)) != -1) {
+				digest.update(buffer, 0, read);
+			}
+		}
+		return DatatypeConverter.printHexBinary(digest.digest());
+	}
+
+	private Boolean isValidPDFA(long limit) {
+		try (InputStream unfilteredStream = this.stream.getUnfilteredStream();
+			 PDDocument embedded = PDDocument.load(new LimitedInputStream(unfilteredStream, limit), false, true)) {
 			try {
-				InputStream unfilteredStream = stream.getUnfilteredStream();
-				unfilteredStream.mark(Integer.MAX_VALUE);
-				ModelParser parser1b = ModelParser.createModelWithFlavour(unfilteredStream, PDFAFlavour.PDFA_1_B);
-				PDFAValidator validator1b = Validators.createValidator(PDFAFlavour.PDFA_1_B, false, 1);
-				ValidationResult result1b = validator1b.validate(parser1b);
-				if (result1b.isCompliant()) {
-					parser1b.close();
-					return Boolean.TRUE;
-				}
-				unfilteredStream.reset();
-				ModelParser parser2b = ModelParser.createModelWithFlavour(unfilteredStream, PDFAFlavour.PDFA_2_B);
-				PDFAValidator validator2b = Validators.createValidator(PDFAFlavour.PDFA_2_B, false, 1);
-				ValidationResult result2b = validator2b.validate(parser2b);
-				parser1b.close();
-				parser2b.close();
-				return Boolean.valueOf(result2b.isCompliant());
-			} catch (Exception e) {
-				LOGGER.debug("Exception during validation of embedded file", e);
-				return Boolean.FALSE;
+				DocumentCache.getInstance(embedded).setEmbeddedFileSizeLimit(limit);
+				return Boolean.valueOf(isCompliant(embedded, PDFAFlavour.PDFA_1_B)
+						|| isCompliant(embedded, PDFAFlavour.PDFA_2_B));
+			} finally {
+				DocumentCache.release(embedded);
+			}
+		} catch (Exception e) {
+			LOGGER.debug("Exception during validation of embedded file", e);
+			return Boolean.FALSE;
+		}
+	}
+
+	/**
+	 * Parser is not closed, as it would close the document shared by both
+	 * flavours. Parser of a loaded document owns no other resources.
+	 */
+	private static boolean isCompliant(PDDocument document, PDFAFlavour flavour) throws Exception {
+		ModelParser parser = ModelParser.createModelWithFlavour(document, flavour);
+		PDFAValidator validator = Validators.createValidator(flavour, false, 1);
+		ValidationResult result = validator.validate(parser);
+		return result.isCompliant();
+	}
+
+	/**
+	 * @return uncompressed size from the embedded file parameters or -1
+	 */
+	private long getDeclaredSize() {
+		COSBase params = this.stream.getDictionaryObject(COSName.PARAMS);
+		if (params instanceof COSDictionary) {
+			return ((COSDictionary) params).getLong(COSName.SIZE);
+		}
+		return -1;
+	}
+
+	/**
+	 * Stream which fails if more than the given number of bytes is read,
+	 * so declared sizes can not be used to bypass the limit.
+	 */
+	private static final class LimitedInputStream extends FilterInputStream {
+
+		private final long limit;
+		private long read;
+
+		LimitedInputStream(InputStream in, long limit) {
+			super(in);
+			this.limit = limit;
+		}
+
+		@Override
+		public int read() throws IOException {
+			int res = super.read();
+			if (res != -1) {
+				count(1);
+			}
+			return res;
+		}
+
+		@Override
+		public int read(byte[] b, int off, int len) throws IOException {
+			int res = super.read(b, off, len);
+			if (res > 0) {
+				count(res);
+			}
+			return res;
+		}
+
+		@Override
+		public long skip(long n) throws IOException {
+			long res = super.skip(n);
+			count(res);
+			return res;
+		}
+
+		@Override
+		public boolean markSupported() {
+			return false;
+		}
+
+		private void count(long number) throws IOException {
+			this.read += number;
+			if (this.read > this.limit) {
+				throw new IOException("Embedded file is larger than " + this.limit + " bytes");
 			}
 		}
-		return Boolean.TRUE;
 	}
 }
@@ -3,7 +3,9 @@ package org.verapdf.model.impl.pb.external;
 import org.apache.log4j.Logger;
 import org.verapdf.model.external.JPEG2000;
 
-import java.io.*;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
 
 /**
  * @author Maksim Bezrukov
@@ -23,6 +25,10 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
     private static final Boolean DEFAULT_BPCC_BOX_PRESENT = Boolean.FALSE;
     private static final byte[] sign = {0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20, 0x0D, 0x0A, -0x79, 0x0A};
 
+    private static final int SIGNATURE_LENGTH = 12;
+    private static final int BOX_HEADER_LENGTH = 8;
+    private static final int EXTENDED_BOX_HEADER_LENGTH = 16;
+
     private static final byte[] header = {0x6A, 0x70, 0x32, 0x68};
     private static final byte[] ihdr = {0x69, 0x68, 0x64, 0x72};
     private static final byte[] bpcc = {0x62, 0x70, 0x63, 0x63};
@@ -56,18 +62,18 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
     public static PBoxJPEG2000 fromStream(InputStream stream) {
         Builder builder = new Builder();
 
-        byte[] sign = new byte[12];
+        BoxReader reader = new BoxReader(stream);
         try {
             // Check if the stream starts with valid jp2 signature
-            if (stream.read(sign) != 12 || !isValidSignature(sign)) {
+            if (!reader.read(SIGNATURE_LENGTH) || !reader.matches(sign, SIGNATURE_LENGTH)) {
                 LOGGER.warn("File contains wrong signature");
                 return builder.build();
             }
             // Finding the beginning of the header box content
-            long headerLeft = findHeader(stream);
+            long headerLeft = findHeader(reader);
 
             if (headerLeft >= 0) {
-                parseHeader(stream, headerLeft, builder);
+                parseHeader(reader, headerLeft, builder);
             }
 
         } catch (IOException e) {
@@ -76,7 +82,7 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
         return builder.build();
     }
 
-    private static void parseHeader(final InputStream stream, final long headerLeft, final Builder builder) throws IOException {
+    private static void parseHeader(final BoxReader reader, final long headerLeft, final Builder builder) throws IOException {
         long leftInHeader = headerLeft;
         boolean isHeaderReachEnd = leftInHeader == 0;
         Long nrColorSpaceSpecs = null;
@@ -86,52 +92,34 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
         Long colrMethod = null;
         Long colrEnumCS = null;
 
-        while (true) {
-            byte[] lbox = new byte[4];
-            byte[] tbox = new byte[4];
-            if (stream.read(lbox) != 4 || stream.read(tbox) != 4) {
-                break;
-            }
-            int skipped = 8;
-            long length = convertArrayToLong(lbox);
-            if (length == 1) {
-                byte[] xlbox = new byte[8];
-                if (stream.read(xlbox) != 8) {
-                    break;
-                }
-                length = convertArrayToLong(xlbox);
-                skipped = 16;
-            }
+        while (reader.readBoxHeader()) {
+            long length = reader.boxLength;
             if (length < 0 || (!isHeaderReachEnd && (length == 0 || length > leftInHeader))) {
                 break;
             }
-            long leftInBox = length - skipped;
+            long leftInBox = length - reader.boxHeaderLength;
 
-            if (matches(tbox, ihdr)) {
+            if (reader.isBoxType(ihdr)) {
                 if (leftInBox != 14 && length != 0) {
                     LOGGER.warn("Image header content does not contain 14 bytes");
                     break;
                 }
-                skipBytes(stream, 8);
-                byte[] nc = new byte[2];
-                if (stream.read(nc) != 2) {
+                if (!reader.skip(8) || !reader.read(2)) {
                     LOGGER.warn("Can not read number of components");
                     break;
                 }
-                long ncColorChannels = convertArrayToLong(nc);
-                builder.setNrColorChannels(ncColorChannels);
-                byte[] bpc = new byte[1];
-                if (stream.read(bpc) != 1) {
+                builder.setNrColorChannels(Long.valueOf(reader.toLong(2)));
+                if (!reader.read(1)) {
                     LOGGER.warn("Can not read bitDepth");
                     break;
                 }
-                long bitDepth = bpc[0] + 1;
-                builder.setBitDepth(bitDepth);
-                skipBytes(stream, 3);
-            } else if (matches(tbox, bpcc)) {
+                long bitDepth = reader.buffer[0] + 1;
+                builder.setBitDepth(Long.valueOf(bitDepth));
+                reader.skip(3);
+            } else if (reader.isBoxType(bpcc)) {
                 builder.setBpccBoxPresent(Boolean.TRUE);
-                skipBytes(stream, leftInBox);
-            } else if (matches(tbox, colr)) {
+                reader.skip(leftInBox);
+            } else if (reader.isBoxType(colr)) {
                 if (leftInBox < 3) {
                     LOGGER.warn("Founded 'colr' box with length less than 3");
                     break;
@@ -141,22 +129,19 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
                 } else {
                     ++nrColorSpaceSpecs;
                 }
-                byte[] meth = new byte[1];
-                if (stream.read(meth) != 1) {
+                if (!reader.read(1)) {
                     LOGGER.warn("Can not read METH");
                     break;
                 }
-                long methValue = convertArrayToLong(meth);
+                long methValue = reader.toLong(1);
                 if (firstColrMethod == null) {
                     firstColrMethod = Long.valueOf(methValue);
                 }
-                skipBytes(stream, 1);
-                byte[] approx = new byte[1];
-                if (stream.read(approx) != 1) {
+                if (!reader.skip(1) || !reader.read(1)) {
                     LOGGER.warn("Can not read APPROX");
                     break;
                 }
-                long approxValue = convertArrayToLong(approx);
+                long approxValue = reader.toLong(1);
                 if (approxValue == 1) {
                     if (nrColorSpacesWithApproxField == null) {
                         nrColorSpacesWithApproxField = Long.valueOf(1L);
@@ -173,13 +158,12 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
                         LOGGER.warn("Founded 'colr' box with meth value 1 and length less than 7");
                         break;
                     }
-                    byte[] enumCS = new byte[4];
-                    if (stream.read(enumCS) != 4) {
+                    if (!reader.read(4)) {
                         LOGGER.warn("Can not read EnumCS");
                         break;
                     }
                     read += 4;
-                    long enumCSValue = convertArrayToLong(enumCS);
+                    long enumCSValue = reader.toLong(4);
                     if (firstColrEnumCS == null) {
                         firstColrEnumCS = Long.valueOf(enumCSValue);
                     }
@@ -187,9 +171,9 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
                         colrEnumCS = Long.valueOf(enumCSValue);
                     }
                 }
-                skipBytes(stream, leftInBox - read);
+                reader.skip(leftInBox - read);
             } else {
-                skipBytes(stream, leftInBox);
+                reader.skip(leftInBox);
             }
 
             leftInHeader -= length;
@@ -223,80 +207,29 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
     }
 
     /**
-     * Finds the beginning of the header box content and returns its left length
+     * Finds the beginning of the header box content and returns its left length.
+     * Content of the boxes before the header is skipped, not read.
      *
-     * @param stream image stream
+     * @param reader image stream reader
      * @return left length of the header box or -1 if it has not been found and 0 if it ends at the end of the stream
      * @throws IOException
      */
-    private static long findHeader(InputStream stream) throws IOException {
-        while (true) {
-            byte[] lbox = new byte[4];
-            byte[] tbox = new byte[4];
-            if (stream.read(lbox) != 4 || stream.read(tbox) != 4) {
-                return -1L;
-            }
-            int skipped = 8;
-            long length = convertArrayToLong(lbox);
-            if (length == 1) {
-                byte[] xlbox = new byte[8];
-                if (stream.read(xlbox) != 8) {
-                    return -1L;
-                }
-                length = convertArrayToLong(xlbox);
-                skipped = 16;
-            }
-            long left = length - skipped;
+    private static long findHeader(BoxReader reader) throws IOException {
+        while (reader.readBoxHeader()) {
+            long length = reader.boxLength;
+            long left = length - reader.boxHeaderLength;
             // Check is current box a header
-            if (matches(tbox, header)) {
+            if (reader.isBoxType(header)) {
                 if (length == 0) {
                     return 0;
-                } else {
-                    return left <= 0 ? -1L : left;
-                }
-            } else {
-                if (length == 0 || left < 0) {
-                    return -1L;
-                } else {
-                    skipBytes(stream, left);
                 }
+                return left <= 0 ? -1L : left;
             }
-        }
-    }
-
-    private static void skipBytes(InputStream stream, long skipNumber) throws IOException {
-        long skippedBytes = stream.skip(skipNumber);
-        if (skippedBytes != skipNumber && stream.available() != 0) {
-            throw new IllegalStateException("Skipped less bytes that needed.");
-        }
-    }
-
-    private static long convertArrayToLong(byte[] toConvert) {
-        if (toConvert.length < 1 || toConvert.length > 8) {
-            throw new IllegalArgumentException("Length of the converting byte array can not be greater than 8");
-        }
-        long res = 0;
-        for (byte aToConvert : toConvert) {
-            res <<= 8;
-            res += aToConvert & 0xff;
-        }
-        return res;
-    }
-
-    private static boolean isValidSignature(byte[] signature) {
-        return matches(signature, sign);
-    }
-
-    private static boolean matches(byte[] source, byte[] match) {
-        if (match.length != source.length) {
-            return false;
-        }
-        for (int i = 0; i < match.length; ++i) {
-            if (source[i] != match[i]) {
-                return false;
+            if (length == 0 || left < 0 || !reader.skip(left)) {
+                return -1L;
             }
         }
-        return true;
+        return -1L;
     }
 
     @Override
@@ -334,6 +267,105 @@ public class PBoxJPEG2000 extends PBoxExternal implements JPEG2000 {
         return this.bpccBoxPresent;
     }
 
+    /**
+     * Reads box headers and fields of a jp2 stream into a single buffer.
+     * Box contents are skipped, so seekable streams do not read them.
+     */
+    private static final class BoxReader {
+
+        private final InputStream stream;
+        private final byte[] buffer = new byte[EXTENDED_BOX_HEADER_LENGTH];
+        private final byte[] type = new byte[4];
+        private long boxLength;
+        private int boxHeaderLength;
+
+        BoxReader(InputStream stream) {
+            this.stream = stream;
+        }
+
+        /**
+         * Reads LBox, TBox and XLBox fields of the next box
+         *
+         * @return false if the stream ends before the end of the box header
+         */
+        boolean readBoxHeader() throws IOException {
+            if (!read(BOX_HEADER_LENGTH)) {
+                return false;
+            }
+            this.boxLength = toLong(4);
+            System.arraycopy(this.buffer, 4, this.type, 0, 4);
+            this.boxHeaderLength = BOX_HEADER_LENGTH;
+            if (this.boxLength == 1) {
+                if (!read(8)) {
+                    return false;
+                }
+                this.boxLength = toLong(8);
+                this.boxHeaderLength = EXTENDED_BOX_HEADER_LENGTH;
+            }
+            return true;
+        }
+
+        boolean isBoxType(byte[] boxType) {
+            return Arrays.equals(this.type, boxType);
+        }
+
+        boolean matches(byte[] match, int length) {
+            for (int i = 0; i < length; ++i) {
+                if (this.buffer[i] != match[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Reads given number of bytes into the beginning of the buffer
+         *
+         * @return false if the stream ends earlier
+         */
+        boolean read(int length) throws IOException {
+            int read = 0;
+            while (read < length) {
+                int current = this.stream.read(this.buffer, read, length - read);
+                if (current == -1) {
+                    return false;
+                }
+                read += current;
+            }
+            return true;
+        }
+
+        /**
+         * @return false if the stream ends before skipping of all bytes
+         */
+        boolean skip(long length) throws IOException {
+            long left = length;
+            while (left > 0) {
+                long skipped = this.stream.skip(left);
+                if (skipped <= 0) {
+                    if (this.stream.read() == -1) {
+                        return false;
+                    }
+                    skipped = 1;
+                }
+                left -= skipped;
+            }
+            return true;
+        }
+
+        /**
+         * Converts first bytes of the buffer to a big-endian number
+         */
+        long toLong(int length) {
+            long res = 0;
+            for (int i = 0; i < length; ++i) {
+                res <<= 8;
+                res += this.buffer[i] & 0xff;
+            }
+            return res;
+        }
+    }
+
     private static class Builder {
         private Long nrColorChannels = DEFAULT_NR_COLOR_CHANNELS;
         private Long nrColorSpaceSpecs = DEFAULT_NR_COLOR_SPACE_SPECS;
@@ -18,6 +18,7 @@ import org.verapdf.model.operator.OpTextShow;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDFont;
 import org.verapdf.model.tools.FontHelper;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -111,28 +112,32 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 
     private List<PBGlyph> getUsedGlyphs() {
 		org.apache.pdfbox.pdmodel.font.PDFont font = getFontFromResources();
-		FontContainer fontContainer = FontHelper.getFontContainer(font);
-
-		if (fontContainer == null) {
+		if (font == null) {
 			return Collections.emptyList();
 		}
 
+		DocumentCache cache = DocumentCache.getInstance(this.document);
+		COSBase fontDictionary = font.getCOSObject();
+		int renderingMode = this.state.getRenderingMode().intValue();
+		// font container is required only for glyphs which are not cached yet
+		FontContainer fontContainer = null;
+
 		List<PBGlyph> res = new ArrayList<>();
 		List<byte[]> strings = this.getStrings(this.arguments);
         for (byte[] string : strings) {
             try (InputStream inputStream = new ByteArrayInputStream(string)) {
                 while (inputStream.available() > 0) {
                     int code = font.readCode(inputStream);
-                    boolean glyphPresent = fontContainer.hasGlyph(code);
-                    boolean widthsConsistent = this.checkWidths(code);
-                    PBGlyph glyph;
-					if (font.getSubType().equals(FontFactory.TYPE_0)) {
-						int CID = ((PDType0Font) font).codeToCID(code);
-						glyph = new PBCIDGlyph(glyphPresent, widthsConsistent,
-								font, code, CID, this.state.getRenderingMode().intValue());
-					} else {
-						glyph = new PBGlyph(glyphPresent, widthsConsistent,
-								font, code, this.state.getRenderingMode().intValue());
+					PBGlyph glyph = (PBGlyph) cache.getGlyph(fontDictionary, code, renderingMode);
+					if (glyph == null) {
+						if (fontContainer == null) {
+							fontContainer = FontHelper.getFontContainer(font, this.document);
+							if (fontContainer == null) {
+								return Collections.emptyList();
+							}
+						}
+						glyph = cache.putGlyph(fontDictionary, code, renderingMode,
+								createGlyph(font, fontContainer, code, renderingMode));
 					}
 					res.add(glyph);
                 }
@@ -145,6 +150,23 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
         return res;
     }
 
+	private static PBGlyph createGlyph(org.apache.pdfbox.pdmodel.font.PDFont font,
+									   FontContainer fontContainer, int code, int renderingMode) throws IOException {
+		boolean glyphPresent;
+		// container is shared by all operators of the font
+		synchronized (fontContainer) {
+			glyphPresent = fontContainer.hasGlyph(code);
+		}
+		boolean widthsConsistent = checkWidths(font, code);
+		if (font.getSubType().equals(FontFactory.TYPE_0)) {
+			int CID = ((PDType0Font) font).codeToCID(code);
+			return new PBCIDGlyph(glyphPresent, widthsConsistent,
+					font, code, CID, renderingMode);
+		}
+		return new PBGlyph(glyphPresent, widthsConsistent,
+				font, code, renderingMode);
+	}
+
     private List<PDColorSpace> getFillColorSpace() {
 		if (this.fillCS == null) {
 			this.fillCS = parseFillColorSpace();
@@ -225,8 +247,7 @@ public abstract class PBOpTextShow extends PBOperator implements OpTextShow {
 		return Collections.emptyList();
 	}
 
-    private Boolean checkWidths(int glyphCode) throws IOException {
-		org.apache.pdfbox.pdmodel.font.PDFont font = getFontFromResources();
+    private static Boolean checkWidths(org.apache.pdfbox.pdmodel.font.PDFont font, int glyphCode) throws IOException {
 		float expectedWidth = font.getWidth(glyphCode);
         float foundWidth = font.getWidthFromFont(glyphCode);
         // consistent is defined to be a difference of no more than 1/1000 unit.
@@ -16,6 +16,7 @@ import org.verapdf.model.pdlayer.PDAction;
 import org.verapdf.model.pdlayer.PDAnnot;
 import org.verapdf.model.pdlayer.PDContentStream;
 import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.model.tools.transparency.TransparencyScanner;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.ArrayList;
@@ -60,7 +61,6 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 	private final PDFAFlavour flavour;
 
 	private List<PDContentStream> appearance = null;
-	private boolean containsTransparency = false;
 
 	public PBoxPDAnnot(PDAnnotation annot, PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
 		super(annot, ANNOTATION_TYPE);
@@ -297,11 +297,35 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 		return this.appearance;
 	}
 
-	boolean isContainsTransparency() {
-		if (this.appearance == null) {
-			parseAppearance();
+	/**
+	 * Checks appearance streams of the annotation for transparency without
+	 * creation of the veraPDF model objects.
+	 *
+	 * @param annotation annotation for check
+	 * @param resources  resources of the annotation appearance streams
+	 * @param document   document of the annotation
+	 * @return true if any appearance stream of the annotation is transparency
+	 * group or paints with transparency
+	 */
+	static boolean containsTransparency(PDAnnotation annotation, PDInheritableResources resources,
+										PDDocument document) {
+		PDAppearanceDictionary appearanceDictionary = annotation.getAppearance();
+		if (appearanceDictionary == null) {
+			return false;
+		}
+		COSDictionary dictionary = appearanceDictionary.getCOSObject();
+		List<PDAppearanceStream> streams = new ArrayList<>();
+		addAppearanceStreams(dictionary.getDictionaryObject(COSName.N), streams);
+		addAppearanceStreams(dictionary.getDictionaryObject(COSName.D), streams);
+		addAppearanceStreams(dictionary.getDictionaryObject(COSName.R), streams);
+		for (PDAppearanceStream stream : streams) {
+			org.apache.pdfbox.pdmodel.graphics.form.PDGroup group = stream.getGroup();
+			if (group != null && COSName.TRANSPARENCY.equals(group.getSubType())
+					|| TransparencyScanner.containsTransparency(stream, resources, document)) {
+				return true;
+			}
 		}
-		return this.containsTransparency;
+		return false;
 	}
 
 	private void parseAppearance() {
@@ -313,10 +337,15 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 			COSBase downAppearanceBase = dictionary.getDictionaryObject(COSName.D);
 			COSBase rolloverAppearanceBase = dictionary.getDictionaryObject(COSName.R);
 			if (normalAppearanceBase != null || downAppearanceBase != null || rolloverAppearanceBase != null) {
-				List<PDContentStream> appearances = new ArrayList<>();
-				addContentStreamsFromAppearanceEntry(normalAppearanceBase, appearances);
-				addContentStreamsFromAppearanceEntry(downAppearanceBase, appearances);
-				addContentStreamsFromAppearanceEntry(rolloverAppearanceBase, appearances);
+				List<PDAppearanceStream> streams = new ArrayList<>();
+				addAppearanceStreams(normalAppearanceBase, streams);
+				addAppearanceStreams(downAppearanceBase, streams);
+				addAppearanceStreams(rolloverAppearanceBase, streams);
+				List<PDContentStream> appearances = new ArrayList<>(streams.size());
+				for (PDAppearanceStream stream : streams) {
+					appearances.add(PBoxPDContentStream.getSharedInstance(stream, this.resources,
+							this.document, this.flavour));
+				}
 				this.appearance = Collections.unmodifiableList(appearances);
 			}
 		} else {
@@ -324,25 +353,15 @@ public class PBoxPDAnnot extends PBoxPDObject implements PDAnnot {
 		}
 	}
 
-	private void addContentStreamsFromAppearanceEntry(COSBase appearanceEntry, List<PDContentStream> appearances) {
+	private static void addAppearanceStreams(COSBase appearanceEntry, List<PDAppearanceStream> streams) {
 		if (appearanceEntry != null) {
 			PDAppearanceEntry appearance = new PDAppearanceEntry(appearanceEntry);
 			if (appearance.isStream()) {
-				addAppearance(appearances, appearance.getAppearanceStream());
+				streams.add(appearance.getAppearanceStream());
 			} else {
 				Map<COSName, PDAppearanceStream> subDictionary = appearance.getSubDictionary();
-				for (PDAppearanceStream stream : subDictionary.values()) {
-					addAppearance(appearances, stream);
-				}
+				streams.addAll(subDictionary.values());
 			}
 		}
 	}
-
-	private void addAppearance(List<PDContentStream> list, PDAppearanceStream toAdd) {
-		PBoxPDContentStream stream = new PBoxPDContentStream(toAdd, this.resources, this.document, this.flavour);
-		this.containsTransparency |= stream.isContainsTransparency();
-		org.apache.pdfbox.pdmodel.graphics.form.PDGroup group = toAdd.getGroup();
-		this.containsTransparency |= group != null && COSName.TRANSPARENCY.equals(group.getSubType());
-		list.add(stream);
-	}
 }
@@ -1,14 +1,18 @@
 package org.verapdf.model.impl.pb.pd;
 
 import org.apache.log4j.Logger;
+import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSStream;
 import org.apache.pdfbox.pdfparser.PDFStreamParser;
 import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.factory.operator.OperatorFactory;
 import org.verapdf.model.operator.Operator;
 import org.verapdf.model.pdlayer.PDContentStream;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.model.tools.transparency.TransparencyScanner;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
@@ -30,18 +34,57 @@ public class PBoxPDContentStream extends PBoxPDObject implements
 
 	private final PDInheritableResources resources;
 	private List<Operator> operators = null;
-	private boolean containsTransparency = false;
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
 
+	private final PageParsingQueue parsingQueue;
+	private final int pageIndex;
+
 	public PBoxPDContentStream(
 			org.apache.pdfbox.contentstream.PDContentStream contentStream,
 			PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
+		this(contentStream, resources, document, flavour, null, -1);
+	}
+
+	/**
+	 * @param parsingQueue queue which tokenises the page ahead of the rule
+	 *                     engine or {@code null} if the content stream is
+	 *                     parsed lazily
+	 * @param pageIndex    index of the page in the queue
+	 */
+	PBoxPDContentStream(org.apache.pdfbox.contentstream.PDContentStream contentStream,
+						PDInheritableResources resources, PDDocument document, PDFAFlavour flavour,
+						PageParsingQueue parsingQueue, int pageIndex) {
 		super(contentStream, CONTENT_STREAM_TYPE);
 		this.resources = resources;
         this.document = document;
         this.flavour = flavour;
+		this.parsingQueue = parsingQueue;
+		this.pageIndex = pageIndex;
+	}
+
+	/**
+	 * Content stream of the form is parsed once per document for each set of
+	 * effective resources, all invocations of the form with these resources
+	 * share it. Appearance streams of annotations are shared in the same way.
+	 *
+	 * @param form      pdfbox form XObject
+	 * @param resources resources of the form content stream
+	 * @return content stream registered in the document cache
+	 */
+	public static PBoxPDContentStream getSharedInstance(PDFormXObject form, PDInheritableResources resources,
+														PDDocument document, PDFAFlavour flavour) {
+		COSStream stream = form.getCOSStream();
+		COSDictionary pageResources = resources.getPageResources().getCOSObject();
+		COSDictionary currentResources = resources.getCurrentResources().getCOSObject();
+		DocumentCache cache = DocumentCache.getInstance(document);
+		Object contentStream = cache.getWrapper(stream, flavour, CONTENT_STREAM_TYPE, pageResources, currentResources);
+		if (contentStream != null) {
+			return (PBoxPDContentStream) contentStream;
+		}
+		return cache.putWrapper(stream, flavour, CONTENT_STREAM_TYPE,
+				new PBoxPDContentStream(form, resources, document, flavour), pageResources, currentResources);
 	}
 
     @Override
@@ -60,29 +103,29 @@ public class PBoxPDContentStream extends PBoxPDObject implements
     }
 
 	/**
+	 * Verdict is obtained by {@link TransparencyScanner} and shared by all
+	 * references of the content stream with the same resources.
+	 *
 	 * @return true if this content stream contains transparency
 	 */
 	public boolean isContainsTransparency() {
-		if (this.operators == null) {
-			parseOperators();
-		}
-		return containsTransparency;
+		return TransparencyScanner.containsTransparency(this.contentStream, this.resources, this.document);
 	}
 
 	private void parseOperators() {
+		List<java.lang.Object> tokens = this.parsingQueue != null ? this.parsingQueue.takeTokens(this.pageIndex) : null;
+		if (tokens != null) {
+			this.operators = new OperatorFactory().operatorsFromTokens(
+					tokens, this.resources, this.document, this.flavour);
+			return;
+		}
 		try {
 			COSStream cStream = this.contentStream.getContentStream();
 			if (cStream != null) {
 				PDFStreamParser streamParser = new PDFStreamParser(
 						cStream, true);
-				streamParser.parse();
-				OperatorFactory operatorFactory = new OperatorFactory();
-				List<Operator> result = operatorFactory.operatorsFromTokens(
-						streamParser.getTokens(),
-						this.resources, this.document, this.flavour);
-
-				this.containsTransparency = operatorFactory.isLastParsedContainsTransparency();
-				this.operators = Collections.unmodifiableList(result);
+				this.operators = new OperatorFactory().operatorsFromStream(
+						streamParser, this.resources, this.document, this.flavour);
 			} else {
 				this.operators = Collections.emptyList();
 			}
@@ -22,6 +22,7 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 /**
  * High-level representation of pdf document.
@@ -90,6 +91,8 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 
 	private final PDDocumentCatalog catalog;
 	private final PDFAFlavour flavour;
+	private final ExecutorService pageParsingExecutor;
+	private final int pageParsingParallelism;
 
 	/**
 	 * Default constructor
@@ -97,9 +100,25 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 	 * @param document high level document representation
 	 */
 	public PBoxPDDocument(org.apache.pdfbox.pdmodel.PDDocument document, PDFAFlavour flavour) {
+		this(document, flavour, null, 1);
+	}
+
+	/**
+	 * @param document               high level document representation
+	 * @param pageParsingExecutor    executor which splits page content streams
+	 *                               into tokens before they are used by the
+	 *                               rule engine. Pages are parsed lazily on
+	 *                               the calling thread if it is {@code null}
+	 * @param pageParsingParallelism maximal number of pages tokenised ahead of
+	 *                               the rule engine
+	 */
+	public PBoxPDDocument(org.apache.pdfbox.pdmodel.PDDocument document, PDFAFlavour flavour,
+						  ExecutorService pageParsingExecutor, int pageParsingParallelism) {
 		super(document, PD_DOCUMENT_TYPE);
 		this.catalog = this.getDocumentCatalog();
 		this.flavour = flavour;
+		this.pageParsingExecutor = pageParsingExecutor;
+		this.pageParsingParallelism = pageParsingParallelism;
 	}
 
 	private PDDocumentCatalog getDocumentCatalog() {
@@ -204,11 +223,20 @@ public class PBoxPDDocument extends PBoxPDObject implements PDDocument {
 
 	private List<PDPage> getPages() {
 		PDPageTree pageTree = this.document.getPages();
-		List<PDPage> pages = new ArrayList<>(pageTree.getCount());
+		List<org.apache.pdfbox.pdmodel.PDPage> pdfboxPages = new ArrayList<>(pageTree.getCount());
+		List<PBoxPDPage> pages = new ArrayList<>(pageTree.getCount());
 		for (org.apache.pdfbox.pdmodel.PDPage page : pageTree) {
+			pdfboxPages.add(page);
 			pages.add(new PBoxPDPage(page, this.document, this.flavour));
 		}
-		return Collections.unmodifiableList(pages);
+		if (this.pageParsingExecutor != null && this.pageParsingParallelism > 1 && pages.size() > 1) {
+			PageParsingQueue queue = new PageParsingQueue(pdfboxPages, this.pageParsingExecutor,
+					this.pageParsingParallelism);
+			for (int i = 0; i < pages.size(); i++) {
+				pages.get(i).setParsingQueue(queue, i);
+			}
+		}
+		return Collections.<PDPage>unmodifiableList(pages);
 	}
 
 	private List<PDMetadata> getMetadata() {
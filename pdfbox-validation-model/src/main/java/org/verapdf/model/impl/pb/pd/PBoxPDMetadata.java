@@ -13,6 +13,7 @@ import org.verapdf.model.impl.axl.AXLMainXMPPackage;
 import org.verapdf.model.impl.axl.AXLXMPPackage;
 import org.verapdf.model.impl.pb.cos.PBCosStream;
 import org.verapdf.model.pdlayer.PDMetadata;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.model.xmplayer.XMPPackage;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -50,6 +51,7 @@ public class PBoxPDMetadata extends PBoxPDObject implements PDMetadata {
             this.mainMetadata = null;
         }
         this.flavour = flavour;
+        this.document = document;
     }
 
     @Override
@@ -84,15 +86,15 @@ public class PBoxPDMetadata extends PBoxPDObject implements PDMetadata {
             COSStream stream = ((org.apache.pdfbox.pdmodel.common.PDMetadata) this.simplePDObject)
                     .getStream();
             if (stream != null) {
-                VeraPDFMeta metadata = VeraPDFMeta.parse(stream.getUnfilteredStream());
+                DocumentCache cache = DocumentCache.getInstance(this.document);
+                VeraPDFMeta metadata = cache.getMetadata(stream);
                 if (isMainMetadata) {
                     xmp.add(new AXLMainXMPPackage(metadata, true, this.flavour));
                 } else if (this.flavour == null || this.flavour.getPart() == null || this.flavour.getPart().getPartNumber() != 1) {
                     COSStream mainStream = mainMetadata.getStream();
                     VeraPDFXMPNode mainExtensionNode = null;
                     if (mainStream != null) {
-                        VeraPDFMeta mainMeta = VeraPDFMeta.parse(mainStream.getUnfilteredStream());
-                        mainExtensionNode = mainMeta.getExtensionSchemasNode();
+                        mainExtensionNode = cache.getExtensionSchemasNode(mainStream);
                     }
                     xmp.add(new AXLXMPPackage(metadata, true, mainExtensionNode, this.flavour));
                 }
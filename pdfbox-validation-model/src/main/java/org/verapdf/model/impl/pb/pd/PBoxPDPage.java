@@ -18,6 +18,7 @@ import org.verapdf.model.impl.pb.cos.PBCosBBox;
 import org.verapdf.model.pdlayer.*;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.model.tools.transparency.TransparencyScanner;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
@@ -63,13 +64,16 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 	/** Maximal number of actions in page dictionary */
 	public static final int MAX_NUMBER_OF_ACTIONS = 2;
 
-	private boolean containsTransparency = false;
+	private Boolean containsTransparency = null;
 	private List<PDContentStream> contentStreams = null;
 	private List<PDAnnot> annotations = null;
 
 	private final org.apache.pdfbox.pdmodel.PDDocument document;
 	private final PDFAFlavour flavour;
 
+	private PageParsingQueue parsingQueue = null;
+	private int pageIndex = -1;
+
 	/**
 	 * Default constructor.
 	 *
@@ -81,8 +85,27 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 		this.flavour = flavour;
 	}
 
+	/**
+	 * Content stream of the page is tokenised by the given queue ahead of
+	 * the rule engine.
+	 *
+	 * @param parsingQueue queue which tokenises pages of the document
+	 * @param pageIndex    index of the page in the queue
+	 */
+	void setParsingQueue(PageParsingQueue parsingQueue, int pageIndex) {
+		this.parsingQueue = parsingQueue;
+		this.pageIndex = pageIndex;
+	}
+
+	private void pageAccessed() {
+		if (this.parsingQueue != null) {
+			this.parsingQueue.pageAccessed(this.pageIndex);
+		}
+	}
+
 	@Override
 	public Boolean getcontainsPresSteps() {
+		this.pageAccessed();
 		COSBase presSteps = ((org.apache.pdfbox.pdmodel.PDPage) this.simplePDObject)
 				.getCOSObject().getDictionaryObject(COSName.getPDFName(PRESENTATION_STEPS));
 		if (presSteps != null) {
@@ -93,17 +116,47 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 
 	@Override
 	public Boolean getcontainsTransparency() {
-		if (this.contentStreams == null) {
-			parseContentStream();
-		}
-		if (this.annotations == null) {
-			this.annotations = parseAnnotataions();
+		this.pageAccessed();
+		if (this.containsTransparency == null) {
+			this.containsTransparency = Boolean.valueOf(this.scanTransparency());
 		}
 		return this.containsTransparency;
 	}
 
+	/**
+	 * Transparency of the page is obtained by {@link TransparencyScanner},
+	 * so operators of the page and its annotations are not created if
+	 * they are not checked by the profile.
+	 */
+	private boolean scanTransparency() {
+		org.apache.pdfbox.pdmodel.PDPage page = (org.apache.pdfbox.pdmodel.PDPage) this.simplePDObject;
+		PDResources pageResources = page.getResources();
+		PDInheritableResources resources = PDInheritableResources
+				.getInstance(pageResources, PDInheritableResources.EMPTY_RESOURCES, this.document);
+		if (TransparencyScanner.containsTransparency(page, resources, this.document)) {
+			return true;
+		}
+		try {
+			List<PDAnnotation> pdfboxAnnotations = page.getAnnotations();
+			if (pdfboxAnnotations != null) {
+				for (PDAnnotation annotation : pdfboxAnnotations) {
+					if (annotation != null && PBoxPDAnnot.containsTransparency(annotation,
+							this.getAnnotationResources(pageResources, annotation), this.document)) {
+						return true;
+					}
+				}
+			}
+		} catch (IOException e) {
+			LOGGER.error(
+					"Problems in obtaining pdfbox PDAnnotations. "
+							+ e.getMessage(), e);
+		}
+		return false;
+	}
+
 	@Override
 	public List<? extends Object> getLinkedObjects(String link) {
+		this.pageAccessed();
 		switch (link) {
 			case GROUP:
 				return this.getGroup();
@@ -180,10 +233,10 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 		org.apache.pdfbox.pdmodel.PDPage stream =
 				(org.apache.pdfbox.pdmodel.PDPage) this.simplePDObject;
 		PDInheritableResources resources = PDInheritableResources
-				.getInstance(stream.getResources(), PDInheritableResources.EMPTY_RESOURCES);
-		PBoxPDContentStream contentStream = new PBoxPDContentStream(stream, resources, this.document, this.flavour);
+				.getInstance(stream.getResources(), PDInheritableResources.EMPTY_RESOURCES, this.document);
+		PBoxPDContentStream contentStream = new PBoxPDContentStream(stream, resources, this.document, this.flavour,
+				this.parsingQueue, this.pageIndex);
 		contentStreams.add(contentStream);
-		this.containsTransparency = contentStream.isContainsTransparency();
 	}
 
 	private List<PDAction> getActions() {
@@ -236,16 +289,18 @@ public class PBoxPDPage extends PBoxPDObject implements PDPage {
 				this.simplePDObject).getResources();
 		for (PDAnnotation annotation : pdfboxAnnotations) {
 			if (annotation != null) {
-				PDAppearanceStream stream = annotation.getNormalAppearanceStream();
-				PDResources resources = stream != null ? stream.getResources() : PDInheritableResources.EMPTY_RESOURCES;
-				PDInheritableResources extRes = PDInheritableResources.getInstance(pageResources, resources);
-				PBoxPDAnnot annot = new PBoxPDAnnot(annotation, extRes, this.document, this.flavour);
-				this.containsTransparency |= annot.isContainsTransparency();
-				annotations.add(annot);
+				PDInheritableResources extRes = this.getAnnotationResources(pageResources, annotation);
+				annotations.add(new PBoxPDAnnot(annotation, extRes, this.document, this.flavour));
 			}
 		}
 	}
 
+	private PDInheritableResources getAnnotationResources(PDResources pageResources, PDAnnotation annotation) {
+		PDAppearanceStream stream = annotation.getNormalAppearanceStream();
+		PDResources resources = stream != null ? stream.getResources() : PDInheritableResources.EMPTY_RESOURCES;
+		return PDInheritableResources.getInstance(pageResources, resources, this.document);
+	}
+
 	private List<CosBBox> getMediaBox() {
 		return this.getCosBBox(COSName.MEDIA_BOX);
 	}
@@ -0,0 +1,148 @@
+package org.verapdf.model.impl.pb.pd;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDPage;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Splits content streams of document pages into tokens ahead of the rule
+ * engine. pdfbox objects are not thread safe, so content of the page is
+ * decoded by the rule engine thread into a detached stream, and only the
+ * detached stream is tokenised by the executor. When the rule engine
+ * accesses a page, the next pages in the direction of traversal are
+ * submitted, so at most the given number of pages is held ahead of the
+ * engine. Tokens of pages left behind are dropped, such pages are parsed
+ * lazily if the engine comes back.
+ * <p>
+ * Queue is used by the rule engine thread only.
+ */
+final class PageParsingQueue {
+
+	private static final Logger LOGGER = Logger.getLogger(PageParsingQueue.class);
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private final List<PDPage> pages;
+	private final ExecutorService executor;
+	private final int windowSize;
+	private final List<Future<List<Object>>> tokens;
+	private final boolean[] scheduled;
+
+	private int lastAccessed = -1;
+
+	/**
+	 * @param pages      pages of the document
+	 * @param executor   executor which tokenises content streams
+	 * @param windowSize maximal number of pages tokenised ahead of the rule engine
+	 */
+	PageParsingQueue(List<PDPage> pages, ExecutorService executor, int windowSize) {
+		this.pages = pages;
+		this.executor = executor;
+		this.windowSize = windowSize;
+		this.tokens = new ArrayList<>(Collections.<Future<List<Object>>>nCopies(pages.size(), null));
+		this.scheduled = new boolean[pages.size()];
+	}
+
+	/**
+	 * Submits pages of the window which starts from the given page and drops
+	 * tokens of pages outside of it.
+	 *
+	 * @param index index of the page accessed by the rule engine
+	 */
+	void pageAccessed(int index) {
+		if (index == this.lastAccessed) {
+			return;
+		}
+		int step = index < this.lastAccessed ? -1 : 1;
+		this.lastAccessed = index;
+		for (int i = 0; i < this.tokens.size(); i++) {
+			if (this.tokens.get(i) != null && !this.isInWindow(i, index, step)) {
+				this.tokens.set(i, null).cancel(false);
+			}
+		}
+		for (int i = index; this.isInWindow(i, index, step); i += step) {
+			if (!this.scheduled[i]) {
+				this.scheduled[i] = true;
+				this.tokens.set(i, this.submit(i));
+			}
+		}
+	}
+
+	/**
+	 * Waits until content stream of the given page is tokenised.
+	 *
+	 * @param index index of the page
+	 * @return tokens of the page content stream or {@code null} if the page
+	 * was not tokenised ahead and has to be parsed by the calling thread
+	 */
+	List<Object> takeTokens(int index) {
+		Future<List<Object>> task = this.tokens.set(index, null);
+		return task == null ? null : getTokens(task);
+	}
+
+	private boolean isInWindow(int index, int start, int step) {
+		int distance = (index - start) * step;
+		return index >= 0 && index < this.scheduled.length && distance >= 0 && distance < this.windowSize;
+	}
+
+	private Future<List<Object>> submit(int index) {
+		try {
+			COSStream content = this.pages.get(index).getContentStream();
+			if (content != null) {
+				return this.executor.submit(new PageParsingTask(detach(content)));
+			}
+		} catch (IOException e) {
+			LOGGER.debug("Content stream of page " + index + " can not be decoded. " + e.getMessage(), e);
+		} catch (RejectedExecutionException e) {
+			LOGGER.debug("Page " + index + " is not parsed in parallel. " + e.getMessage(), e);
+		}
+		return null;
+	}
+
+	private static COSStream detach(COSStream content) throws IOException {
+		COSStream detached = new COSStream(new COSDictionary());
+		try (InputStream in = content.getUnfilteredStream();
+			 OutputStream out = detached.createUnfilteredStream()) {
+			byte[] buffer = new byte[BUFFER_SIZE];
+			int read;
+			while ((read = in.read(buffer)) != -1) {
+				out.write(buffer, 0, read);
+			}
+		}
+		return detached;
+	}
+
+	private static List<Object> getTokens(Future<List<Object>> task) {
+		boolean isInterrupted = false;
+		try {
+			while (true) {
+				try {
+					return task.get();
+				} catch (InterruptedException e) {
+					// tokens are already decoded, so the task is finished soon
+					isInterrupted = true;
+				} catch (ExecutionException | CancellationException e) {
+					LOGGER.error("Problems with parallel parsing of pages. " + e.getMessage(), e);
+					return null;
+				}
+			}
+		} finally {
+			if (isInterrupted) {
+				Thread.currentThread().interrupt();
+			}
+		}
+	}
+}
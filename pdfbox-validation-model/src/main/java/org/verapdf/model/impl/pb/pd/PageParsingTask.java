@@ -0,0 +1,32 @@
+package org.verapdf.model.impl.pb.pd;
+
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+
+/**
+ * Task which splits decoded content of one page into tokens. Content stream
+ * is detached from the document, and tokens are interned only in the
+ * concurrent caches of pdfbox names and operators, so tasks of different
+ * pages may run at the same time as the rule engine.
+ */
+class PageParsingTask implements Callable<List<Object>> {
+
+	private final COSStream content;
+
+	/**
+	 * @param content decoded content stream which does not belong to the document
+	 */
+	PageParsingTask(COSStream content) {
+		this.content = content;
+	}
+
+	@Override
+	public List<Object> call() throws Exception {
+		PDFStreamParser parser = new PDFStreamParser(this.content, true);
+		parser.parse();
+		return parser.getTokens();
+	}
+}
@@ -13,12 +13,12 @@ import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.coslayer.CosStream;
 import org.verapdf.model.impl.pb.cos.PBCosStream;
 import org.verapdf.model.pdlayer.PDCIDFont;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
 
@@ -39,6 +39,8 @@ public class PBoxPDCIDFont extends PBoxPDFont implements PDCIDFont {
     public static final String IDENTITY = "Identity";
     public static final String CUSTOM = "Custom";
 
+    private static final int BUFFER_LENGTH = 2048;
+
     public PBoxPDCIDFont(PDFontLike font, PDDocument document, PDFAFlavour flavour) {
         super(font, CID_FONT_TYPE);
         this.document = document;
@@ -60,30 +62,49 @@ public class PBoxPDCIDFont extends PBoxPDFont implements PDCIDFont {
 		return null;
 	}
 
+    /**
+     * Verdict is computed once per CIDFont dictionary of the document.
+     */
     @Override
     public Boolean getcidSetListsAllGlyphs() {
-        try {
-            PDStream cidSet = getCIDSetStream();
-            if (cidSet != null) {
-                InputStream stream = ((COSStream) cidSet.getCOSObject()).getUnfilteredStream();
-                int length = cidSet.getLength();
-                byte[] cidSetBytes = getCIDsFromCIDSet(stream, length);
-
-                //reverse bit order in bit set (convert to big endian)
-                BitSet bitSet = toBitSetBigEndian(cidSetBytes);
-
-                org.apache.pdfbox.pdmodel.font.PDCIDFont cidFont = (org.apache.pdfbox.pdmodel.font.PDCIDFont) this.pdFontLike;
-                for (int i = 1; i < bitSet.size(); i++) {
-                    if (bitSet.get(i) && !cidFont.hasGlyph(i)) {
-                        return Boolean.FALSE;
+        org.apache.pdfbox.pdmodel.font.PDCIDFont cidFont = (org.apache.pdfbox.pdmodel.font.PDCIDFont) this.pdFontLike;
+        DocumentCache cache = DocumentCache.getInstance(this.document);
+        Boolean verdict = cache.getCIDSetVerdict(cidFont.getCOSObject());
+        if (verdict == null) {
+            verdict = Boolean.valueOf(cidSetListsAllGlyphs(cidFont));
+            cache.putCIDSetVerdict(cidFont.getCOSObject(), verdict.booleanValue());
+        }
+        return verdict;
+    }
+
+    private boolean cidSetListsAllGlyphs(org.apache.pdfbox.pdmodel.font.PDCIDFont cidFont) {
+        PDStream cidSet = getCIDSetStream();
+        if (cidSet == null) {
+            return true;
+        }
+        try (InputStream stream = ((COSStream) cidSet.getCOSObject()).getUnfilteredStream()) {
+            byte[] buffer = new byte[BUFFER_LENGTH];
+            int cidOffset = 0;
+            int read;
+            while ((read = stream.read(buffer)) != -1) {
+                for (int i = 0; i < read; ++i, cidOffset += 8) {
+                    int b = buffer[i] & 0xFF;
+                    // bits are in big endian order, the highest bit is the first cid
+                    while (b != 0) {
+                        int bit = Integer.numberOfLeadingZeros(b) - 24;
+                        int cid = cidOffset + bit;
+                        if (cid != 0 && !cidFont.hasGlyph(cid)) {
+                            return false;
+                        }
+                        b &= ~(0x80 >>> bit);
                     }
                 }
             }
         } catch (IOException e) {
             LOGGER.error("Error while parsing embedded font program. " + e.getMessage(), e);
-            return Boolean.FALSE;
+            return false;
         }
-        return Boolean.TRUE;
+        return true;
     }
 
     @Override
@@ -114,26 +135,4 @@ public class PBoxPDCIDFont extends PBoxPDFont implements PDCIDFont {
         return null;
     }
 
-    private byte[] getCIDsFromCIDSet(InputStream cidSet, int length) throws IOException {
-        byte[] cidSetBytes = new byte[length];
-        if (cidSet.read(cidSetBytes) != length) {
-            LOGGER.debug("Did not read necessary number of cid set bytes");
-        }
-        return cidSetBytes;
-    }
-
-    private BitSet toBitSetBigEndian(byte[] source) {
-        BitSet bitSet = new BitSet(source.length * 8);
-        int i = 0;
-        for(int j = 0; j < source.length; j++) {
-            int b = source[j] >= 0 ? source[j] : 256 + source[j];
-            for(int k = 0; k < 8; k++) {
-                bitSet.set(i++, (b & 0x80) != 0);
-                b = b << 1;
-            }
-        }
-
-        return bitSet;
-    }
-
 }
@@ -2,6 +2,7 @@ package org.verapdf.model.impl.pb.pd.font;
 
 import org.apache.fontbox.cmap.CMap;
 import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.external.CMapFile;
 import org.verapdf.model.impl.pb.external.PBoxCMapFile;
@@ -22,7 +23,12 @@ public class PBoxPDCMap extends PBoxPDObject implements PDCMap {
     public static final String EMBEDDED_FILE = "embeddedFile";
 
     public PBoxPDCMap(CMap cMap, COSStream cMapFile) {
+        this(cMap, cMapFile, null);
+    }
+
+    public PBoxPDCMap(CMap cMap, COSStream cMapFile, PDDocument document) {
         super(cMap, cMapFile, CMAP_TYPE);
+        this.document = document;
     }
 
 	@Override
@@ -41,7 +47,7 @@ public class PBoxPDCMap extends PBoxPDObject implements PDCMap {
     private List<CMapFile> getEmbeddedFile() {
         if (this.simplePDObject instanceof COSStream) {
 			List<CMapFile> result = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-            result.add(new PBoxCMapFile((COSStream) this.simplePDObject));
+            result.add(new PBoxCMapFile((COSStream) this.simplePDObject, this.document));
             return Collections.unmodifiableList(result);
         }
 		return Collections.emptyList();
@@ -127,7 +127,7 @@ public class PBoxPDType0Font extends PBoxPDFont implements PDType0Font {
 			List<PDCMap> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 			boolean isCMapCorrect = cmap != null && cmap instanceof COSStream;
 			list.add(isCMapCorrect ?
-					new PBoxPDCMap(charMap, (COSStream) cmap) : new PBoxPDCMap(charMap, null));
+					new PBoxPDCMap(charMap, (COSStream) cmap, this.document) : new PBoxPDCMap(charMap, null, this.document));
 			return Collections.unmodifiableList(list);
         }
         return Collections.emptyList();
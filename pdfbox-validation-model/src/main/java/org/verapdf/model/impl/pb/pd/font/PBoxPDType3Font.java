@@ -31,6 +31,8 @@ public class PBoxPDType3Font extends PBoxPDSimpleFont implements PDType3Font {
 	private final PDFAFlavour flavour;
 
 	private Map<String, PDContentStream> charStrings = null;
+	/** Content streams of glyph procedures by glyph name, populated on demand */
+	private final Map<String, PDContentStream> charProcStreams = new HashMap<>();
 
 	public PBoxPDType3Font(PDFontLike font, PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
 		super(font, TYPE3_FONT_TYPE);
@@ -63,7 +65,32 @@ public class PBoxPDType3Font extends PBoxPDSimpleFont implements PDType3Font {
 		if (this.charStrings == null) {
 			parseCharStrings();
 		}
-		return Collections.unmodifiableMap(this.charStrings);
+		return this.charStrings;
+	}
+
+	/**
+	 * Content stream of the glyph procedure is created once per font object
+	 * on the first request, so only procedures of the used glyphs are parsed.
+	 *
+	 * @param glyphName name of the glyph
+	 * @return content stream of the glyph procedure or {@code null} if the
+	 * font has no procedure for the given glyph
+	 */
+	public PDContentStream getCharProcStream(String glyphName) {
+		if (this.charProcStreams.containsKey(glyphName)) {
+			return this.charProcStreams.get(glyphName);
+		}
+		org.apache.pdfbox.pdmodel.font.PDType3Font font =
+				(org.apache.pdfbox.pdmodel.font.PDType3Font) this.pdFontLike;
+		PDContentStream contentStream = null;
+		if (glyphName != null && font.getCharProcs() != null) {
+			PDType3CharProc charProc = font.getCharProc(COSName.getPDFName(glyphName));
+			if (charProc != null) {
+				contentStream = new PBoxPDContentStream(charProc, this.resources, this.document, this.flavour);
+			}
+		}
+		this.charProcStreams.put(glyphName, contentStream);
+		return contentStream;
 	}
 
 	public Encoding getEncodingObject() {
@@ -81,11 +108,10 @@ public class PBoxPDType3Font extends PBoxPDSimpleFont implements PDType3Font {
 			Set<COSName> keySet = charProcDict.keySet();
 			Map<String, PDContentStream> map = new HashMap<>(keySet.size());
 			for (COSName cosName : keySet) {
-				PDType3CharProc charProc = ((org.apache.pdfbox.pdmodel.font.PDType3Font) this.pdFontLike)
-						.getCharProc(cosName);
-				PBoxPDContentStream contentStream =
-						new PBoxPDContentStream(charProc, this.resources, this.document, this.flavour);
-				map.put(cosName.getName(), contentStream);
+				PDContentStream contentStream = this.getCharProcStream(cosName.getName());
+				if (contentStream != null) {
+					map.put(cosName.getName(), contentStream);
+				}
 			}
 			this.charStrings = Collections.unmodifiableMap(map);
 		} else {
@@ -15,6 +15,7 @@ import org.verapdf.model.pdlayer.PDContentStream;
 import org.verapdf.model.pdlayer.PDGroup;
 import org.verapdf.model.pdlayer.PDXForm;
 import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.model.tools.transparency.TransparencyScanner;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.ArrayList;
@@ -36,7 +37,6 @@ public class PBoxPDXForm extends PBoxPDXObject implements PDXForm {
 	private List<PDContentStream> contentStreams = null;
 	private List<PDGroup> groups = null;
 	private boolean groupContainsTransparency = false;
-	private boolean contentStreamContainsTransparency = false;
 
 	public PBoxPDXForm(PDFormXObject simplePDObject, PDInheritableResources resources, PDDocument document, PDFAFlavour flavour) {
 		super(simplePDObject, resources, X_FORM_TYPE, document, flavour);
@@ -110,24 +110,23 @@ public class PBoxPDXForm extends PBoxPDXObject implements PDXForm {
 
 	private void parseContentStream() {
 		List<PDContentStream> streams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-		PBoxPDContentStream pdContentStream = new PBoxPDContentStream(
-				(PDFormXObject) this.simplePDObject, this.resources, this.document, this.flavour);
-		this.contentStreamContainsTransparency = pdContentStream.isContainsTransparency();
-		streams.add(pdContentStream);
+		streams.add(PBoxPDContentStream.getSharedInstance((PDFormXObject) this.simplePDObject,
+				this.resources, this.document, this.flavour));
 		this.contentStreams = streams;
 	}
 
 	/**
+	 * Transparency of the content stream is obtained by
+	 * {@link TransparencyScanner}, so operators of the form are not created.
+	 *
 	 * @return true if current form object contains transparency group or transparency in its content stream
 	 */
 	public boolean containsTransparency() {
 		if (groups == null) {
 			initializeGroups();
 		}
-		if (contentStreams == null) {
-			parseContentStream();
-		}
 
-		return groupContainsTransparency || contentStreamContainsTransparency;
+		return groupContainsTransparency || TransparencyScanner.containsTransparency(
+				(PDFormXObject) this.simplePDObject, this.resources, this.document);
 	}
 }
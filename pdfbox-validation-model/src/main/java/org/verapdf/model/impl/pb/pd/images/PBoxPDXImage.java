@@ -14,6 +14,7 @@ import org.verapdf.model.impl.pb.cos.PBCosRenderingIntent;
 import org.verapdf.model.impl.pb.external.PBoxJPEG2000;
 import org.verapdf.model.pdlayer.PDColorSpace;
 import org.verapdf.model.pdlayer.PDXImage;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -139,10 +140,8 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
             PDStream stream = ((PDImageXObjectProxy) (this.simplePDObject)).getPDStream();
             List<COSName> filters = stream.getFilters();
             if (filters != null && filters.contains(COSName.JPX_DECODE)) {
-                // TODO: handle the case when jpx stream is additionally hex encoded
-                InputStream image = stream.getStream().getFilteredStream();
                 ArrayList<JPEG2000> list = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
-                list.add(PBoxJPEG2000.fromStream(image));
+                list.add(getJPEG2000(stream.getStream()));
                 return Collections.unmodifiableList(list);
             }
         } catch (IOException e) {
@@ -151,6 +150,23 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
         return Collections.emptyList();
     }
 
+    /**
+     * JPEG2000 is parsed once per image stream of the document, images
+     * sharing the stream share the parsed object.
+     */
+    private JPEG2000 getJPEG2000(COSStream stream) throws IOException {
+        DocumentCache cache = DocumentCache.getInstance(this.document);
+        PBoxJPEG2000 jpeg2000 = (PBoxJPEG2000) cache.getWrapper(stream, null, PBoxJPEG2000.JPEG_2000_TYPE);
+        if (jpeg2000 == null) {
+            // TODO: handle the case when jpx stream is additionally hex encoded
+            try (InputStream image = stream.getFilteredStream()) {
+                jpeg2000 = cache.putWrapper(stream, null, PBoxJPEG2000.JPEG_2000_TYPE,
+                        PBoxJPEG2000.fromStream(image));
+            }
+        }
+        return jpeg2000;
+    }
+
 	/**
      * @return true if current image contains SMask value of type stream or SMaskInData value greater then 0
      */
@@ -159,7 +175,14 @@ public class PBoxPDXImage extends PBoxPDXObject implements PDXImage {
             return false;
         }
 
-        COSBase base = this.simplePDObject.getCOSObject();
+        return containsTransparency(this.simplePDObject.getCOSObject());
+    }
+
+    /**
+     * @param base image XObject stream
+     * @return true if the given image contains SMask value of type stream or SMaskInData value greater then 0
+     */
+    public static boolean containsTransparency(COSBase base) {
         if (base instanceof COSStream) {
             COSStream stream = (COSStream) base;
             if (stream.getDictionaryObject(COSName.SMASK) instanceof COSStream) {
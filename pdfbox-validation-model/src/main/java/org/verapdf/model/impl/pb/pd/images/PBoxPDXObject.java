@@ -16,6 +16,7 @@ import org.verapdf.model.coslayer.CosDict;
 import org.verapdf.model.impl.pb.cos.PBCosDict;
 import org.verapdf.model.impl.pb.pd.PBoxPDResources;
 import org.verapdf.model.pdlayer.PDXObject;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
@@ -122,9 +123,15 @@ public class PBoxPDXObject extends PBoxPDResources implements PDXObject {
 					.getExtendedResources(object.getResources());
 			return new PBoxPDXForm(object, resources, document, flavour);
         } else if (pbObject instanceof PDImageXObjectProxy) {
-            return new PBoxPDXImage((PDImageXObjectProxy) pbObject, document, flavour);
+            DocumentCache cache = DocumentCache.getInstance(document);
+            Object image = cache.getWrapper(pbObject.getCOSStream(), flavour, PBoxPDXImage.X_IMAGE_TYPE);
+            return image != null ? (PDXObject) image : cache.putWrapper(pbObject.getCOSStream(), flavour,
+                    PBoxPDXImage.X_IMAGE_TYPE, new PBoxPDXImage((PDImageXObjectProxy) pbObject, document, flavour));
         } else if (pbObject instanceof PDPostScriptXObject) {
-            return new PBoxPDXObject(pbObject, document, flavour);
+            DocumentCache cache = DocumentCache.getInstance(document);
+            Object postScript = cache.getWrapper(pbObject.getCOSStream(), flavour, X_OBJECT_TYPE);
+            return postScript != null ? (PDXObject) postScript : cache.putWrapper(pbObject.getCOSStream(), flavour,
+                    X_OBJECT_TYPE, new PBoxPDXObject(pbObject, document, flavour));
         } else {
             return null;
         }
@@ -6,6 +6,7 @@ import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
 import org.verapdf.model.pdlayer.PDContentStream;
 import org.verapdf.model.pdlayer.PDTilingPattern;
 import org.verapdf.model.tools.resources.PDInheritableResources;
+import org.verapdf.model.tools.transparency.TransparencyScanner;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.util.ArrayList;
@@ -26,7 +27,6 @@ public class PBoxPDTilingPattern extends PBoxPDPattern implements
     private final PDFAFlavour flavour;
 
 	private List<PDContentStream> contentStreams = null;
-	private boolean containsTransparency = false;
 
 	public PBoxPDTilingPattern(
 			org.apache.pdfbox.pdmodel.graphics.pattern.PDTilingPattern simplePDObject,
@@ -57,17 +57,14 @@ public class PBoxPDTilingPattern extends PBoxPDPattern implements
 	 * @return true if content stream of the pattern contains transparency
 	 */
 	public boolean isContainsTransparency() {
-		if (this.contentStreams == null) {
-			parseContentStream();
-		}
-		return this.containsTransparency;
+		return TransparencyScanner.containsTransparency(
+				(org.apache.pdfbox.contentstream.PDContentStream) this.simplePDObject, this.resources, this.document);
 	}
 
 	private void parseContentStream() {
 		List<PDContentStream> contentStreams = new ArrayList<>(MAX_NUMBER_OF_ELEMENTS);
 		PBoxPDContentStream contentStream = new PBoxPDContentStream(
 				(org.apache.pdfbox.contentstream.PDContentStream) this.simplePDObject, this.resources, this.document, this.flavour);
-		this.containsTransparency |= contentStream.isContainsTransparency();
 		contentStreams.add(contentStream);
 		this.contentStreams = contentStreams;
 	}
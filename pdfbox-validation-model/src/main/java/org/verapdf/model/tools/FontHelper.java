@@ -1,9 +1,11 @@
 package org.verapdf.model.tools;
 
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.font.*;
 import org.apache.pdfbox.preflight.font.container.*;
 import org.verapdf.model.factory.font.FontFactory;
+import org.verapdf.model.tools.cache.DocumentCache;
 
 /**
  * Class for transforming Apache PDFBox font to
@@ -18,6 +20,27 @@ public class FontHelper {
 	/** CID font type 1 value of Subtype entry for type 0 font */
 	public static final String CID_FONT_TYPE_2 = "CIDFontType2";
 
+	/**
+	 * Obtain Apache Preflight font container of the given font shared
+	 * within the document, so the font program parsed by the container
+	 * is reused by all text show operators of the font.
+	 *
+	 * @param font     Apache PDFBox font
+	 * @param document document of the font
+	 * @return Apache Preflight font container
+	 */
+	public static FontContainer getFontContainer(PDFont font, PDDocument document) {
+		if (font == null) {
+			return null;
+		}
+		DocumentCache cache = DocumentCache.getInstance(document);
+		FontContainer container = cache.getFontContainer(font.getCOSObject());
+		if (container == null) {
+			container = cache.putFontContainer(font.getCOSObject(), getFontContainer(font));
+		}
+		return container;
+	}
+
 	/**
 	 * Transform Apache PDFBox font to Apache Preflight
 	 * font container representation
@@ -5,6 +5,7 @@ import com.adobe.xmp.impl.VeraPDFMeta;
 import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.util.DateConverter;
+import org.verapdf.model.tools.cache.DocumentCache;
 
 import java.io.IOException;
 import java.util.Calendar;
@@ -57,6 +58,17 @@ public final class XMPChecker {
      * @return true if fields of xmp matches with fields of info dictionary
      */
     public static Boolean doesInfoMatchXMP(COSDocument document) {
+        return doesInfoMatchXMP(document, DocumentCache.getInstance(null));
+    }
+
+    /**
+     * Matches properties of document information dictionary and xmp metadata.
+     *
+     * @param document which will be tested
+     * @param cache    cache of the document which holds parsed metadata
+     * @return true if fields of xmp matches with fields of info dictionary
+     */
+    public static Boolean doesInfoMatchXMP(COSDocument document, DocumentCache cache) {
         COSDictionary info = getInformationDictionary(document);
         if (info == null) {
             return Boolean.TRUE;
@@ -65,7 +77,7 @@ public final class XMPChecker {
         try {
             COSStream meta = getMetadataDictionary(document);
             if (meta != null) {
-                VeraPDFMeta metadata = VeraPDFMeta.parse(meta.getUnfilteredStream());
+                VeraPDFMeta metadata = cache.getMetadata(meta);
 
                 Map<String, Object> properties = new HashMap<>(
                         MAX_REQUIRED_RECORDS);
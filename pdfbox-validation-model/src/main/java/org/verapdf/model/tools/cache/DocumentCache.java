@@ -0,0 +1,620 @@
+package org.verapdf.model.tools.cache;
+
+import com.adobe.xmp.XMPException;
+import com.adobe.xmp.impl.VeraPDFMeta;
+import com.adobe.xmp.impl.VeraPDFXMPNode;
+import org.apache.fontbox.cmap.CMap;
+import org.apache.fontbox.cmap.CMapParser;
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.preflight.font.container.FontContainer;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry of objects shared by the whole validation model of one document.
+ * Model objects of the same underlying pdfbox object are created once per
+ * document and flavour and reused everywhere this object is referenced.
+ * Objects which depend on the place of reference (e.g. on inherited
+ * resources) are registered together with the pdfbox objects of this
+ * context.
+ * <p>
+ * Model objects are held by weak references, so the cache shares them while
+ * they are used by somebody and does not extend their lifetime. Parsed
+ * objects and verdicts, which do not reference the document, are held
+ * strongly. Cache is released by {@link #release(PDDocument)},
+ * {@link org.verapdf.model.ModelParser} does it on close, or together with
+ * the document when it becomes unreachable.
+ */
+public final class DocumentCache {
+
+	private static final Logger LOGGER = Logger.getLogger(DocumentCache.class);
+
+	/** PDDocument does not override equals, so weak keys are compared by identity */
+	private static final Map<PDDocument, DocumentCache> CACHES = new WeakHashMap<>();
+
+	/** Maximum number of font containers kept for one document */
+	public static final int MAX_FONT_CONTAINERS = 128;
+	private static final String FONT_CONTAINER_TYPE = "FontContainer";
+	private static final String XMP_METADATA_TYPE = "XMPMetadata";
+	private static final String CMAP_TYPE = "CMap";
+	private static final String TRANSPARENCY_TYPE = "Transparency";
+	private static final String EMBEDDED_FILE_TYPE = "EmbeddedFile";
+	private static final String CID_SET_TYPE = "CIDSetListsAllGlyphs";
+	private static final COSBase[] NO_CONTEXT = new COSBase[0];
+
+	private final ConcurrentMap<Object, WrapperReference> wrappers = new ConcurrentHashMap<>();
+	private final ReferenceQueue<Object> collectedWrappers = new ReferenceQueue<>();
+	private final ConcurrentMap<WrapperKey, Object> parsedObjects = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, Boolean> embeddedFileVerdicts = new ConcurrentHashMap<>();
+	private final Set<PDFStreamParser> openParsers =
+			Collections.newSetFromMap(new ConcurrentHashMap<PDFStreamParser, Boolean>());
+	private volatile long embeddedFileSizeLimit = Long.MAX_VALUE;
+	private final Map<WrapperKey, FontContainer> fontContainers =
+			new LinkedHashMap<WrapperKey, FontContainer>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<WrapperKey, FontContainer> eldest) {
+					return size() > MAX_FONT_CONTAINERS;
+				}
+			};
+
+	private DocumentCache() {
+		// disable default constructor
+	}
+
+	/**
+	 * Obtain cache of the given document. For {@code null} document a new
+	 * cache is returned that is not shared with anybody.
+	 *
+	 * @param document pdfbox document
+	 * @return cache of the document
+	 */
+	public static DocumentCache getInstance(PDDocument document) {
+		if (document == null) {
+			return new DocumentCache();
+		}
+		synchronized (CACHES) {
+			DocumentCache cache = CACHES.get(document);
+			if (cache == null) {
+				cache = new DocumentCache();
+				CACHES.put(document, cache);
+			}
+			return cache;
+		}
+	}
+
+	/**
+	 * Drop all objects cached for the given document and close content
+	 * stream parsers which were not read to the end.
+	 *
+	 * @param document pdfbox document
+	 */
+	public static void release(PDDocument document) {
+		if (document != null) {
+			DocumentCache cache;
+			synchronized (CACHES) {
+				cache = CACHES.remove(document);
+			}
+			if (cache != null) {
+				cache.closeOpenParsers();
+			}
+		}
+	}
+
+	/**
+	 * Register content stream parser which is read on demand, so it is
+	 * closed on release of the document even if it is abandoned before the
+	 * end of the stream.
+	 *
+	 * @param parser content stream parser
+	 */
+	public void addOpenParser(PDFStreamParser parser) {
+		if (parser != null) {
+			this.openParsers.add(parser);
+		}
+	}
+
+	/**
+	 * @param parser content stream parser which was closed by its owner
+	 */
+	public void removeOpenParser(PDFStreamParser parser) {
+		if (parser != null) {
+			this.openParsers.remove(parser);
+		}
+	}
+
+	private void closeOpenParsers() {
+		for (PDFStreamParser parser : this.openParsers) {
+			try {
+				parser.close();
+			} catch (IOException e) {
+				LOGGER.debug("Error while closing content stream parser. " + e.getMessage(), e);
+			}
+		}
+		this.openParsers.clear();
+	}
+
+	/**
+	 * @param base    underlying pdfbox object of the model object
+	 * @param flavour flavour of the validation model
+	 * @param type    object type of the model object
+	 * @param context pdfbox objects the model object depends on
+	 * @return model object registered for the given pdfbox object or
+	 * {@code null} if there is no such object yet
+	 */
+	public Object getWrapper(COSBase base, PDFAFlavour flavour, String type, COSBase... context) {
+		return base == null ? null : this.getReferent(new WrapperKey(base, flavour, type, context));
+	}
+
+	/**
+	 * Register model object for the given pdfbox object. If another model
+	 * object was registered concurrently then it is returned instead.
+	 *
+	 * @param base    underlying pdfbox object of the model object
+	 * @param flavour flavour of the validation model
+	 * @param type    object type of the model object
+	 * @param wrapper model object to register
+	 * @param context pdfbox objects the model object depends on
+	 * @return registered model object
+	 */
+	public <T> T putWrapper(COSBase base, PDFAFlavour flavour, String type, T wrapper, COSBase... context) {
+		if (base == null || wrapper == null) {
+			return wrapper;
+		}
+		return this.putReferent(new WrapperKey(base, flavour, type, context), wrapper);
+	}
+
+	/**
+	 * @param font          font dictionary
+	 * @param code          character code of the glyph
+	 * @param renderingMode text rendering mode of the glyph
+	 * @return glyph model object registered for the given font, code and
+	 * rendering mode or {@code null} if there is no such object yet
+	 */
+	public Object getGlyph(COSBase font, int code, int renderingMode) {
+		return font == null ? null : this.getReferent(new GlyphKey(font, code, renderingMode));
+	}
+
+	/**
+	 * Register glyph model object. Glyph of the same font, code and rendering
+	 * mode does not depend on the text show operator, so the object is shared
+	 * by all operators showing it. If another object was registered
+	 * concurrently then it is returned instead.
+	 *
+	 * @param font          font dictionary
+	 * @param code          character code of the glyph
+	 * @param renderingMode text rendering mode of the glyph
+	 * @param glyph         glyph model object to register
+	 * @return registered glyph model object
+	 */
+	public <T> T putGlyph(COSBase font, int code, int renderingMode, T glyph) {
+		if (font == null || glyph == null) {
+			return glyph;
+		}
+		return this.putReferent(new GlyphKey(font, code, renderingMode), glyph);
+	}
+
+	private Object getReferent(Object key) {
+		WrapperReference reference = this.wrappers.get(key);
+		return reference == null ? null : reference.get();
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T putReferent(Object key, T wrapper) {
+		this.expungeCollectedWrappers();
+		WrapperReference reference = new WrapperReference(key, wrapper, this.collectedWrappers);
+		while (true) {
+			WrapperReference previous = this.wrappers.putIfAbsent(key, reference);
+			if (previous == null) {
+				return wrapper;
+			}
+			Object registered = previous.get();
+			if (registered != null) {
+				return (T) registered;
+			}
+			if (this.wrappers.replace(key, previous, reference)) {
+				return wrapper;
+			}
+		}
+	}
+
+	private void expungeCollectedWrappers() {
+		Reference<?> reference;
+		while ((reference = this.collectedWrappers.poll()) != null) {
+			WrapperReference collected = (WrapperReference) reference;
+			this.wrappers.remove(collected.key, collected);
+		}
+	}
+
+	private Object getParsedObject(COSBase base, String type, COSBase... context) {
+		return this.parsedObjects.get(new WrapperKey(base, null, type, context));
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T putParsedObject(COSBase base, String type, T parsed, COSBase... context) {
+		Object previous = this.parsedObjects.putIfAbsent(new WrapperKey(base, null, type, context), parsed);
+		return previous != null ? (T) previous : parsed;
+	}
+
+	/**
+	 * @param font font dictionary
+	 * @return font container registered for the given font or {@code null}
+	 * if there is no such container or it was evicted as least recently used
+	 */
+	public FontContainer getFontContainer(COSBase font) {
+		if (font == null) {
+			return null;
+		}
+		synchronized (this.fontContainers) {
+			return this.fontContainers.get(new WrapperKey(font, null, FONT_CONTAINER_TYPE, NO_CONTEXT));
+		}
+	}
+
+	/**
+	 * Register font container of the given font. Only the
+	 * {@value #MAX_FONT_CONTAINERS} most recently used containers are kept,
+	 * so documents with thousands of subset fonts do not hold all parsed
+	 * font programs. If another container was registered concurrently then
+	 * it is returned instead.
+	 *
+	 * @param font      font dictionary
+	 * @param container font container to register
+	 * @return registered font container
+	 */
+	public FontContainer putFontContainer(COSBase font, FontContainer container) {
+		if (font == null || container == null) {
+			return container;
+		}
+		WrapperKey key = new WrapperKey(font, null, FONT_CONTAINER_TYPE, NO_CONTEXT);
+		synchronized (this.fontContainers) {
+			FontContainer previous = this.fontContainers.get(key);
+			if (previous != null) {
+				return previous;
+			}
+			this.fontContainers.put(key, container);
+			return container;
+		}
+	}
+
+	/**
+	 * Parsed XMP metadata of the given stream. Each metadata stream is parsed
+	 * once per document, the parsing error is remembered as well, so all
+	 * consumers get either the same object or the same error.
+	 *
+	 * @param stream metadata stream, must not be {@code null}
+	 * @return parsed XMP metadata
+	 * @throws IOException  if the stream can not be read
+	 * @throws XMPException if the stream is not a valid XMP package
+	 */
+	public VeraPDFMeta getMetadata(COSStream stream) throws IOException, XMPException {
+		return this.getParsedMetadata(stream).getMetadata();
+	}
+
+	/**
+	 * @param stream metadata stream, must not be {@code null}
+	 * @return extension schemas node of the parsed XMP metadata
+	 * @throws IOException  if the stream can not be read
+	 * @throws XMPException if the stream is not a valid XMP package
+	 */
+	public VeraPDFXMPNode getExtensionSchemasNode(COSStream stream) throws IOException, XMPException {
+		return this.getParsedMetadata(stream).getExtensionSchemasNode();
+	}
+
+	private ParsedMetadata getParsedMetadata(COSStream stream) {
+		ParsedMetadata parsed = (ParsedMetadata) this.getParsedObject(stream, XMP_METADATA_TYPE, NO_CONTEXT);
+		if (parsed == null) {
+			parsed = this.putParsedObject(stream, XMP_METADATA_TYPE, ParsedMetadata.parse(stream), NO_CONTEXT);
+		}
+		return parsed;
+	}
+
+	/**
+	 * Parsed embedded CMap of the given stream. Each CMap stream is parsed
+	 * once per document, the parsing error is remembered as well.
+	 *
+	 * @param stream CMap stream, must not be {@code null}
+	 * @return parsed CMap
+	 * @throws IOException if the stream can not be read or parsed
+	 */
+	public CMap getCMap(COSStream stream) throws IOException {
+		ParsedCMap parsed = (ParsedCMap) this.getParsedObject(stream, CMAP_TYPE, NO_CONTEXT);
+		if (parsed == null) {
+			parsed = this.putParsedObject(stream, CMAP_TYPE, ParsedCMap.parse(stream), NO_CONTEXT);
+		}
+		return parsed.getCMap();
+	}
+
+	/**
+	 * @param stream    content stream
+	 * @param resources resource dictionaries used by the content stream
+	 * @return true if the content stream paints with transparency, false if
+	 * it does not or {@code null} if it has not been checked yet
+	 */
+	public Boolean getTransparency(COSStream stream, COSBase... resources) {
+		return stream == null ? null : (Boolean) this.getParsedObject(stream, TRANSPARENCY_TYPE, resources);
+	}
+
+	/**
+	 * Register transparency verdict of the content stream, so forms,
+	 * patterns and glyphs painted from many places are checked once per
+	 * document.
+	 *
+	 * @param stream          content stream
+	 * @param hasTransparency true if the content stream paints with transparency
+	 * @param resources       resource dictionaries used by the content stream
+	 */
+	public void putTransparency(COSStream stream, boolean hasTransparency, COSBase... resources) {
+		if (stream != null) {
+			this.putParsedObject(stream, TRANSPARENCY_TYPE, Boolean.valueOf(hasTransparency), resources);
+		}
+	}
+
+	/**
+	 * @param cidFont CIDFont dictionary
+	 * @return true if CIDSet of the font lists all glyphs of the font program,
+	 * false if it does not or {@code null} if it has not been checked yet
+	 */
+	public Boolean getCIDSetVerdict(COSBase cidFont) {
+		return cidFont == null ? null : (Boolean) this.getParsedObject(cidFont, CID_SET_TYPE, NO_CONTEXT);
+	}
+
+	/**
+	 * Register CIDSet verdict of the CIDFont, so the font used from many
+	 * pages decodes its CIDSet once.
+	 *
+	 * @param cidFont        CIDFont dictionary
+	 * @param listsAllGlyphs true if CIDSet lists all glyphs of the font program
+	 */
+	public void putCIDSetVerdict(COSBase cidFont, boolean listsAllGlyphs) {
+		if (cidFont != null) {
+			this.putParsedObject(cidFont, CID_SET_TYPE, Boolean.valueOf(listsAllGlyphs), NO_CONTEXT);
+		}
+	}
+
+	/**
+	 * @param stream embedded file stream
+	 * @return PDF/A compliance of the given embedded file or {@code null}
+	 * if it has not been checked yet
+	 */
+	public Boolean getEmbeddedFileVerdict(COSStream stream) {
+		return stream == null ? null : (Boolean) this.getParsedObject(stream, EMBEDDED_FILE_TYPE, NO_CONTEXT);
+	}
+
+	/**
+	 * Register PDF/A compliance of the embedded file stream, so the stream
+	 * referenced from many file specifications is checked once.
+	 *
+	 * @param stream  embedded file stream
+	 * @param verdict PDF/A compliance of the embedded file
+	 */
+	public void putEmbeddedFileVerdict(COSStream stream, Boolean verdict) {
+		if (stream != null && verdict != null) {
+			this.putParsedObject(stream, EMBEDDED_FILE_TYPE, verdict, NO_CONTEXT);
+		}
+	}
+
+	/**
+	 * @param digest digest of the embedded file content
+	 * @return PDF/A compliance of the embedded file with the given content
+	 * or {@code null} if it has not been checked yet
+	 */
+	public Boolean getEmbeddedFileVerdict(String digest) {
+		return this.embeddedFileVerdicts.get(digest);
+	}
+
+	/**
+	 * Register PDF/A compliance of the embedded file content, so embedded
+	 * files with the same content are validated once per document.
+	 *
+	 * @param digest  digest of the embedded file content
+	 * @param verdict PDF/A compliance of the embedded file
+	 */
+	public void putEmbeddedFileVerdict(String digest, Boolean verdict) {
+		this.embeddedFileVerdicts.put(digest, verdict);
+	}
+
+	/**
+	 * @return maximum size in bytes of the embedded file which is validated
+	 * as PDF/A document
+	 */
+	public long getEmbeddedFileSizeLimit() {
+		return this.embeddedFileSizeLimit;
+	}
+
+	/**
+	 * @param embeddedFileSizeLimit maximum size in bytes of the embedded
+	 *                              file which is validated as PDF/A document
+	 */
+	public void setEmbeddedFileSizeLimit(long embeddedFileSizeLimit) {
+		this.embeddedFileSizeLimit = embeddedFileSizeLimit;
+	}
+
+	/**
+	 * Key which compares pdfbox objects by identity, as the same
+	 * object may be referenced from many places of the document.
+	 */
+	private static final class WrapperKey {
+
+		private final COSBase base;
+		private final PDFAFlavour flavour;
+		private final String type;
+		private final COSBase[] context;
+
+		WrapperKey(COSBase base, PDFAFlavour flavour, String type, COSBase[] context) {
+			this.base = base;
+			this.flavour = flavour;
+			this.type = type;
+			this.context = context;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof WrapperKey)) {
+				return false;
+			}
+			WrapperKey that = (WrapperKey) o;
+			return this.base == that.base && this.flavour == that.flavour
+					&& (this.type == null ? that.type == null : this.type.equals(that.type))
+					&& sameContext(this.context, that.context);
+		}
+
+		private static boolean sameContext(COSBase[] first, COSBase[] second) {
+			if (first.length != second.length) {
+				return false;
+			}
+			for (int i = 0; i < first.length; i++) {
+				if (first[i] != second[i]) {
+					return false;
+				}
+			}
+			return true;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(this.base);
+			result = 31 * result + (this.flavour != null ? this.flavour.hashCode() : 0);
+			result = 31 * result + (this.type != null ? this.type.hashCode() : 0);
+			for (COSBase base : this.context) {
+				result = 31 * result + System.identityHashCode(base);
+			}
+			return result;
+		}
+	}
+
+	/**
+	 * Weak reference to the model object which knows its key, so the entry
+	 * is removed from the cache after the object is collected.
+	 */
+	private static final class WrapperReference extends WeakReference<Object> {
+
+		private final Object key;
+
+		WrapperReference(Object key, Object wrapper, ReferenceQueue<Object> queue) {
+			super(wrapper, queue);
+			this.key = key;
+		}
+	}
+
+	private static final class GlyphKey {
+
+		private final COSBase font;
+		private final int code;
+		private final int renderingMode;
+
+		GlyphKey(COSBase font, int code, int renderingMode) {
+			this.font = font;
+			this.code = code;
+			this.renderingMode = renderingMode;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) {
+				return true;
+			}
+			if (!(o instanceof GlyphKey)) {
+				return false;
+			}
+			GlyphKey that = (GlyphKey) o;
+			return this.font == that.font && this.code == that.code
+					&& this.renderingMode == that.renderingMode;
+		}
+
+		@Override
+		public int hashCode() {
+			int result = System.identityHashCode(this.font);
+			result = 31 * result + this.code;
+			result = 31 * result + this.renderingMode;
+			return result;
+		}
+	}
+
+	private static final class ParsedMetadata {
+
+		private final VeraPDFMeta metadata;
+		private final IOException ioException;
+		private final XMPException xmpException;
+
+		private VeraPDFXMPNode extensionSchemasNode = null;
+		private boolean isExtensionSchemasNodeObtained = false;
+
+		private ParsedMetadata(VeraPDFMeta metadata, IOException ioException, XMPException xmpException) {
+			this.metadata = metadata;
+			this.ioException = ioException;
+			this.xmpException = xmpException;
+		}
+
+		static ParsedMetadata parse(COSStream stream) {
+			try (InputStream unfilteredStream = stream.getUnfilteredStream()) {
+				return new ParsedMetadata(VeraPDFMeta.parse(unfilteredStream), null, null);
+			} catch (IOException e) {
+				return new ParsedMetadata(null, e, null);
+			} catch (XMPException e) {
+				return new ParsedMetadata(null, null, e);
+			}
+		}
+
+		VeraPDFMeta getMetadata() throws IOException, XMPException {
+			if (this.ioException != null) {
+				throw this.ioException;
+			}
+			if (this.xmpException != null) {
+				throw this.xmpException;
+			}
+			return this.metadata;
+		}
+
+		synchronized VeraPDFXMPNode getExtensionSchemasNode() throws IOException, XMPException {
+			if (!this.isExtensionSchemasNodeObtained) {
+				this.extensionSchemasNode = this.getMetadata().getExtensionSchemasNode();
+				this.isExtensionSchemasNodeObtained = true;
+			}
+			return this.extensionSchemasNode;
+		}
+	}
+
+	private static final class ParsedCMap {
+
+		private final CMap cMap;
+		private final IOException exception;
+
+		private ParsedCMap(CMap cMap, IOException exception) {
+			this.cMap = cMap;
+			this.exception = exception;
+		}
+
+		static ParsedCMap parse(COSStream stream) {
+			try (InputStream unfilteredStream = stream.getUnfilteredStream()) {
+				return new ParsedCMap(new CMapParser().parse(unfilteredStream), null);
+			} catch (IOException e) {
+				return new ParsedCMap(null, e);
+			}
+		}
+
+		CMap getCMap() throws IOException {
+			if (this.exception != null) {
+				throw this.exception;
+			}
+			return this.cMap;
+		}
+	}
+}
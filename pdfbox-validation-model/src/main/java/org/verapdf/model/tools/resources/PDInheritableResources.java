@@ -2,6 +2,7 @@ package org.verapdf.model.tools.resources;
 
 import org.apache.log4j.Logger;
 import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
 import org.apache.pdfbox.pdmodel.PDResources;
 import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.graphics.PDXObject;
@@ -9,6 +10,7 @@ import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
 import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
 import org.apache.pdfbox.pdmodel.graphics.shading.PDShading;
 import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.verapdf.model.tools.cache.DocumentCache;
 
 import java.io.IOException;
 import java.util.HashMap;
@@ -23,14 +25,27 @@ public class PDInheritableResources {
 	public static final PDResources EMPTY_RESOURCES = new PDEmptyResources();
 	public static final PDInheritableResources EMPTY_EXTENDED_RESOURCES = new PDEmptyInheritableResources();
 
+	private static final String INHERITABLE_RESOURCES_TYPE = "PDInheritableResources";
+
 	private final PDResources currentResources;
 	private final PDResources pageResources;
+	private final DocumentCache cache;
 
 	private final HashMap<COSName, PDFont> fontCache = new HashMap<>();
+	private final HashMap<COSName, PDColorSpace> colorSpaceCache = new HashMap<>();
+	private final HashMap<COSName, PDExtendedGraphicsState> extGStateCache = new HashMap<>();
+	private final HashMap<COSName, PDShading> shadingCache = new HashMap<>();
+	private final HashMap<COSName, PDAbstractPattern> patternCache = new HashMap<>();
+	private final HashMap<COSName, PDXObject> xObjectCache = new HashMap<>();
 
 	protected PDInheritableResources(PDResources pageResources, PDResources currentResources) {
+		this(pageResources, currentResources, null);
+	}
+
+	private PDInheritableResources(PDResources pageResources, PDResources currentResources, DocumentCache cache) {
 		this.pageResources = pageResources;
 		this.currentResources = currentResources;
+		this.cache = cache;
 	}
 
 	/**
@@ -47,8 +62,14 @@ public class PDInheritableResources {
 		return this.currentResources;
 	}
 
+	/**
+	 * @param resources resources which inherit page resources of this object
+	 * @return resources of the same page with the given current resources.
+	 * If this object is shared within a document then the returned object
+	 * is shared too.
+	 */
 	public PDInheritableResources getExtendedResources(PDResources resources) {
-		return getInstance(this.pageResources, resources);
+		return getInstance(this.pageResources, resources, this.cache);
 	}
 
 	public PDFont getFont(COSName name) throws IOException {
@@ -65,6 +86,15 @@ public class PDInheritableResources {
 	}
 
 	public PDColorSpace getColorSpace(COSName name) throws IOException {
+		if (this.colorSpaceCache.containsKey(name)) {
+			return this.colorSpaceCache.get(name);
+		}
+		PDColorSpace colorSpace = this.findColorSpace(name);
+		this.colorSpaceCache.put(name, colorSpace);
+		return colorSpace;
+	}
+
+	private PDColorSpace findColorSpace(COSName name) throws IOException {
 		try {
 			/*
 				if name is name of device depended color space and
@@ -87,23 +117,51 @@ public class PDInheritableResources {
 	}
 
 	public PDExtendedGraphicsState getExtGState(COSName name) {
+		if (this.extGStateCache.containsKey(name)) {
+			return this.extGStateCache.get(name);
+		}
 		PDExtendedGraphicsState state = this.currentResources.getExtGState(name);
-		return state != null ? state : this.pageResources.getExtGState(name);
+		if (state == null) {
+			state = this.pageResources.getExtGState(name);
+		}
+		this.extGStateCache.put(name, state);
+		return state;
 	}
 
 	public PDShading getShading(COSName name) throws IOException {
+		if (this.shadingCache.containsKey(name)) {
+			return this.shadingCache.get(name);
+		}
 		PDShading shading = this.currentResources.getShading(name);
-		return shading != null ? shading : this.pageResources.getShading(name);
+		if (shading == null) {
+			shading = this.pageResources.getShading(name);
+		}
+		this.shadingCache.put(name, shading);
+		return shading;
 	}
 
 	public PDAbstractPattern getPattern(COSName name) throws IOException {
+		if (this.patternCache.containsKey(name)) {
+			return this.patternCache.get(name);
+		}
 		PDAbstractPattern pattern = this.currentResources.getPattern(name);
-		return pattern != null ? pattern : this.pageResources.getPattern(name);
+		if (pattern == null) {
+			pattern = this.pageResources.getPattern(name);
+		}
+		this.patternCache.put(name, pattern);
+		return pattern;
 	}
 
 	public PDXObject getXObject(COSName name) throws IOException {
+		if (this.xObjectCache.containsKey(name)) {
+			return this.xObjectCache.get(name);
+		}
 		PDXObject object = this.currentResources.getXObject(name);
-		return object != null ? object : this.pageResources.getXObject(name);
+		if (object == null) {
+			object = this.pageResources.getXObject(name);
+		}
+		this.xObjectCache.put(name, object);
+		return object;
 	}
 
 	private boolean isDefaultColorSpaceUsed(COSName name) {
@@ -131,9 +189,37 @@ public class PDInheritableResources {
 
 	public static PDInheritableResources getInstance(
 			PDResources pageResources, PDResources currentResources) {
+		return getInstance(pageResources, currentResources, (DocumentCache) null);
+	}
+
+	/**
+	 * Obtain resources shared by all objects of the document with the same
+	 * page and current resource dictionaries, so each resource is looked up
+	 * once per such pair.
+	 *
+	 * @param pageResources    resources of the page
+	 * @param currentResources resources of the current content stream
+	 * @param document         document of the resources
+	 * @return inheritable resources of the given pair
+	 */
+	public static PDInheritableResources getInstance(
+			PDResources pageResources, PDResources currentResources, PDDocument document) {
+		return getInstance(pageResources, currentResources, DocumentCache.getInstance(document));
+	}
+
+	private static PDInheritableResources getInstance(
+			PDResources pageResources, PDResources currentResources, DocumentCache cache) {
 		pageResources = pageResources != null ? pageResources : EMPTY_RESOURCES;
 		currentResources = currentResources != null ? currentResources : EMPTY_RESOURCES;
-		return new PDInheritableResources(pageResources, currentResources);
+		if (cache == null) {
+			return new PDInheritableResources(pageResources, currentResources);
+		}
+		Object resources = cache.getWrapper(pageResources.getCOSObject(), null,
+				INHERITABLE_RESOURCES_TYPE, currentResources.getCOSObject());
+		return resources != null ? (PDInheritableResources) resources :
+				cache.putWrapper(pageResources.getCOSObject(), null, INHERITABLE_RESOURCES_TYPE,
+						new PDInheritableResources(pageResources, currentResources, cache),
+						currentResources.getCOSObject());
 	}
 
 }
@@ -4,19 +4,7 @@ import org.apache.pdfbox.cos.COSArray;
 import org.apache.pdfbox.cos.COSBase;
 import org.apache.pdfbox.cos.COSDictionary;
 import org.apache.pdfbox.cos.COSName;
-import org.apache.pdfbox.pdmodel.font.encoding.Encoding;
 import org.verapdf.model.factory.operator.GraphicState;
-import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
-import org.verapdf.model.impl.pb.pd.colors.PBoxPDColorSpace;
-import org.verapdf.model.impl.pb.pd.font.PBoxPDFont;
-import org.verapdf.model.impl.pb.pd.font.PBoxPDType3Font;
-import org.verapdf.model.impl.pb.pd.images.PBoxPDXForm;
-import org.verapdf.model.impl.pb.pd.images.PBoxPDXImage;
-import org.verapdf.model.impl.pb.pd.images.PBoxPDXObject;
-import org.verapdf.model.impl.pb.pd.pattern.PBoxPDTilingPattern;
-import org.verapdf.model.pdlayer.PDContentStream;
-
-import java.util.Map;
 
 /**
  * Transparency checker class
@@ -110,73 +98,36 @@ public class TransparencyBehaviour {
     }
 
 	/**
-     * Checks the given graphic state for the transparency depends on created object type
-     * @param graphicState graphicState object for check
-     * @return true if the given argument object contains transparency depends on created object type
+     * Checks the graphic state tracked by the given scanner for the transparency
+     * depends on created object type. XObjects, patterns and fonts are taken
+     * from the scanner.
      */
-    public boolean containsTransparency(GraphicState graphicState) {
-        if (baseCheck(graphicState)) {
+    boolean containsTransparency(GraphicState graphicState, TransparencyScanner scanner) {
+        if (alphaCheck(graphicState)) {
             return true;
         }
 
-        if (isFillCheck && graphicState.getCa_ns() < 1.0f) {
+        if (isXObjectCheck && scanner.isXObjectTransparent()) {
             return true;
         }
 
-        if (isStrokeCheck && graphicState.getCa() < 1.0f) {
+        if (isColorSpaceCheck && scanner.isPatternTransparent(isFillCheck, isStrokeCheck)) {
             return true;
         }
 
-        if (isXObjectCheck && xObjectContainsTransparency(graphicState.getVeraXObject())) {
-            return true;
-        }
+        return isFontCheck && scanner.isFontTransparent();
+    }
 
-        if (isColorSpaceCheck && colorSpaceCheck(graphicState)) {
+    private boolean alphaCheck(GraphicState graphicState) {
+        if (baseCheck(graphicState)) {
             return true;
         }
 
-        if (isFontCheck && fontCheck(graphicState)) {
+        if (isFillCheck && graphicState.getCa_ns() < 1.0f) {
             return true;
         }
 
-        return false;
-    }
-
-    private boolean fontCheck(GraphicState graphicState) {
-        PBoxPDFont font = graphicState.getVeraFont();
-        if (font instanceof PBoxPDType3Font) {
-            PBoxPDType3Font type3Font = (PBoxPDType3Font) font;
-            Encoding encoding = type3Font.getEncodingObject();
-            if (encoding != null) {
-                boolean result = false;
-                Map<String, PDContentStream> charProcStreams = type3Font.getCharProcStreams();
-                for (byte glyphCode : graphicState.getCharCodes()) {
-                    String glyphName = encoding.getName(glyphCode);
-                    PBoxPDContentStream glyphStream = (PBoxPDContentStream) charProcStreams.get(glyphName);
-                    if (glyphStream != null) {
-                        result |= glyphStream.isContainsTransparency();
-                    }
-                }
-                return result;
-            }
-        }
-        return false;
-    }
-
-    private boolean colorSpaceCheck(GraphicState graphicState) {
-        if (isFillCheck) {
-            PBoxPDColorSpace fillCS = graphicState.getVeraFillColorSpace();
-            if (fillCS instanceof PBoxPDTilingPattern && ((PBoxPDTilingPattern) fillCS).isContainsTransparency()) {
-                return true;
-            }
-        }
-        if (isStrokeCheck) {
-            PBoxPDColorSpace strokeCS = graphicState.getVeraStrokeColorSpace();
-            if (strokeCS instanceof PBoxPDTilingPattern && ((PBoxPDTilingPattern) strokeCS).isContainsTransparency()) {
-                return true;
-            }
-        }
-        return false;
+        return isStrokeCheck && graphicState.getCa() < 1.0f;
     }
 
     private boolean baseCheck(GraphicState graphicState) {
@@ -206,13 +157,4 @@ public class TransparencyBehaviour {
         }
         return false;
     }
-
-    private boolean xObjectContainsTransparency(PBoxPDXObject xobj) {
-        if (xobj instanceof PBoxPDXForm) {
-            return ((PBoxPDXForm) xobj).containsTransparency();
-        } else if (xobj instanceof PBoxPDXImage) {
-            return ((PBoxPDXImage) xobj).containsTransparency();
-        }
-        return false;
-    }
 }
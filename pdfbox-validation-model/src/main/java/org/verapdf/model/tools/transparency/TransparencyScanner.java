@@ -0,0 +1,409 @@
+package org.verapdf.model.tools.transparency;
+
+import org.apache.log4j.Logger;
+import org.apache.pdfbox.contentstream.PDContentStream;
+import org.apache.pdfbox.cos.COSArray;
+import org.apache.pdfbox.cos.COSBase;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdfparser.PDFStreamParser;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDFont;
+import org.apache.pdfbox.pdmodel.font.PDType3CharProc;
+import org.apache.pdfbox.pdmodel.font.PDType3Font;
+import org.apache.pdfbox.pdmodel.font.encoding.Encoding;
+import org.apache.pdfbox.pdmodel.graphics.PDXObject;
+import org.apache.pdfbox.pdmodel.graphics.color.PDColorSpace;
+import org.apache.pdfbox.pdmodel.graphics.form.PDFormXObject;
+import org.apache.pdfbox.pdmodel.graphics.form.PDGroup;
+import org.apache.pdfbox.pdmodel.graphics.image.PDImageXObjectProxy;
+import org.apache.pdfbox.pdmodel.graphics.pattern.PDAbstractPattern;
+import org.apache.pdfbox.pdmodel.graphics.pattern.PDTilingPattern;
+import org.apache.pdfbox.pdmodel.graphics.state.RenderingMode;
+import org.verapdf.model.factory.colors.ColorSpaceFactory;
+import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.factory.operator.OperatorFactory;
+import org.verapdf.model.impl.pb.pd.images.PBoxPDXImage;
+import org.verapdf.model.tools.cache.DocumentCache;
+import org.verapdf.model.tools.constants.Operators;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Checks content stream for transparency without creation of the veraPDF
+ * model operators. Tokens of the stream are walked once, only the part of
+ * graphic state which is used by {@link TransparencyBehaviour} is tracked
+ * and scanning stops at the first operator which paints with transparency.
+ * Forms, tiling patterns and Type 3 glyphs painted by the stream are scanned
+ * in the same way.
+ * <p>
+ * Verdicts are registered in {@link DocumentCache} for each content stream
+ * and its resources, so shared forms, patterns and glyphs are scanned once
+ * per document. Stream which is referenced from its own content is not
+ * scanned again, verdicts which depend on such cut are not registered.
+ */
+public final class TransparencyScanner {
+
+	private static final Logger LOGGER = Logger.getLogger(TransparencyScanner.class);
+
+	private final PDInheritableResources resources;
+	private final ScanContext context;
+
+	private final Deque<SavedState> graphicStateStack = new ArrayDeque<>();
+	private GraphicState graphicState = new GraphicState();
+	private PDXObject xObject = null;
+	private List<COSBase> arguments = new ArrayList<>();
+
+	private TransparencyScanner(PDInheritableResources resources, ScanContext context) {
+		this.resources = resources;
+		this.context = context;
+	}
+
+	/**
+	 * @param contentStream content stream for check
+	 * @param resources     resources of the content stream
+	 * @param document      document of the content stream
+	 * @return true if any operator of the content stream paints with transparency
+	 */
+	public static boolean containsTransparency(PDContentStream contentStream, PDInheritableResources resources,
+											   PDDocument document) {
+		PDInheritableResources extRes = resources != null ? resources :
+				PDInheritableResources.EMPTY_EXTENDED_RESOURCES;
+		return containsTransparency(contentStream, extRes, new ScanContext(DocumentCache.getInstance(document)));
+	}
+
+	private static boolean containsTransparency(PDContentStream contentStream, PDInheritableResources resources,
+												ScanContext context) {
+		try {
+			COSStream stream = contentStream.getContentStream();
+			if (stream == null) {
+				return false;
+			}
+			COSDictionary pageResources = resources.getPageResources().getCOSObject();
+			COSDictionary currentResources = resources.getCurrentResources().getCOSObject();
+			Boolean verdict = context.cache.getTransparency(stream, pageResources, currentResources);
+			if (verdict != null) {
+				return verdict.booleanValue();
+			}
+			Integer scannedDepth = context.scannedStreams.get(stream);
+			if (scannedDepth != null) {
+				context.cycleDepth = Math.min(context.cycleDepth, scannedDepth.intValue());
+				return false;
+			}
+			int depth = context.scannedStreams.size();
+			context.scannedStreams.put(stream, Integer.valueOf(depth));
+			boolean result;
+			PDFStreamParser parser = null;
+			try {
+				parser = new PDFStreamParser(stream, true);
+				result = new TransparencyScanner(resources, context).scan(parser);
+			} finally {
+				context.scannedStreams.remove(stream);
+				closeParser(parser);
+			}
+			if (context.cycleDepth >= depth) {
+				context.cycleDepth = Integer.MAX_VALUE;
+				context.cache.putTransparency(stream, result, pageResources, currentResources);
+			} else if (result) {
+				context.cache.putTransparency(stream, true, pageResources, currentResources);
+			}
+			return result;
+		} catch (IOException e) {
+			LOGGER.error("Error while parsing content stream. " + e.getMessage(), e);
+			return false;
+		}
+	}
+
+	private static void closeParser(PDFStreamParser parser) {
+		if (parser != null) {
+			try {
+				parser.close();
+			} catch (IOException e) {
+				LOGGER.debug("Error while closing content stream parser. " + e.getMessage(), e);
+			}
+		}
+	}
+
+	private boolean scan(PDFStreamParser parser) {
+		try {
+			Object token = parser.parseNextToken();
+			while (token != null) {
+				if (token instanceof COSBase) {
+					this.arguments.add((COSBase) token);
+				} else if (token instanceof org.apache.pdfbox.contentstream.operator.Operator) {
+					String name = ((org.apache.pdfbox.contentstream.operator.Operator) token).getName();
+					if (this.processOperator(name)) {
+						return true;
+					}
+					this.arguments.clear();
+				}
+				token = parser.parseNextToken();
+			}
+		} catch (IOException e) {
+			LOGGER.error("Error while parsing content stream. " + e.getMessage(), e);
+		}
+		return false;
+	}
+
+	/**
+	 * Applies the given operator to the tracked graphic state.
+	 *
+	 * @return true if painting by the given operator involves transparency
+	 */
+	private boolean processOperator(String name) throws IOException {
+		switch (name) {
+			case Operators.GS:
+				this.graphicState.copyPropertiesFromExtGState(this.resources.getExtGState(getLastCOSName()));
+				break;
+			case Operators.G_STROKE:
+				this.graphicState.setStrokeColorSpace(this.getColorSpace(COSName.DEVICEGRAY));
+				break;
+			case Operators.G_FILL:
+				this.graphicState.setFillColorSpace(this.getColorSpace(COSName.DEVICEGRAY));
+				break;
+			case Operators.RG_STROKE:
+				this.graphicState.setStrokeColorSpace(this.getColorSpace(COSName.DEVICERGB));
+				break;
+			case Operators.RG_FILL:
+				this.graphicState.setFillColorSpace(this.getColorSpace(COSName.DEVICERGB));
+				break;
+			case Operators.K_STROKE:
+				this.graphicState.setStrokeColorSpace(this.getColorSpace(COSName.DEVICECMYK));
+				break;
+			case Operators.K_FILL:
+				this.graphicState.setFillColorSpace(this.getColorSpace(COSName.DEVICECMYK));
+				break;
+			case Operators.CS_STROKE:
+				this.graphicState.setStrokeColorSpace(this.getColorSpace(getLastCOSName()));
+				break;
+			case Operators.CS_FILL:
+				this.graphicState.setFillColorSpace(this.getColorSpace(getLastCOSName()));
+				break;
+			case Operators.SCN_STROKE:
+				if (isPattern(this.graphicState.getStrokeColorSpace())) {
+					this.graphicState.setStrokePattern(this.getPattern(getLastCOSName()));
+				}
+				break;
+			case Operators.SCN_FILL:
+				if (isPattern(this.graphicState.getFillColorSpace())) {
+					this.graphicState.setFillPattern(this.getPattern(getLastCOSName()));
+				}
+				break;
+			case Operators.TR:
+				this.graphicState.setRenderingMode(this.getRenderingMode());
+				break;
+			case Operators.TF:
+				this.graphicState.setFontName(this.arguments.isEmpty() || !(this.arguments.get(0) instanceof COSName) ?
+						null : (COSName) this.arguments.get(0));
+				break;
+			case Operators.Q_GSAVE:
+				this.graphicStateStack.push(new SavedState(this.copyGraphicState(), this.xObject));
+				break;
+			case Operators.Q_GRESTORE:
+				if (!this.graphicStateStack.isEmpty()) {
+					SavedState saved = this.graphicStateStack.pop();
+					this.graphicState = saved.graphicState;
+					this.xObject = saved.xObject;
+				}
+				break;
+			case Operators.DO:
+				PDXObject object = this.getXObject(getLastCOSName());
+				if (object != null) {
+					this.xObject = object;
+				}
+				break;
+			default:
+				break;
+		}
+		TransparencyBehaviour behaviour = OperatorFactory.getTransparencyBehaviour(
+				name, this.graphicState.getRenderingMode());
+		return behaviour != null && behaviour.containsTransparency(this.graphicState, this);
+	}
+
+	/**
+	 * @return true if the last painted XObject is transparency group,
+	 * transparent image or form which paints with transparency
+	 */
+	boolean isXObjectTransparent() {
+		if (this.xObject instanceof PDFormXObject) {
+			PDFormXObject form = (PDFormXObject) this.xObject;
+			PDGroup group = form.getGroup();
+			if (group != null && COSName.TRANSPARENCY.equals(group.getSubType())) {
+				return true;
+			}
+			return containsTransparency(form, this.resources.getExtendedResources(form.getResources()),
+					this.context);
+		} else if (this.xObject instanceof PDImageXObjectProxy) {
+			return PBoxPDXImage.containsTransparency(this.xObject.getCOSStream());
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the current tiling pattern of the checked painting
+	 * paints with transparency
+	 */
+	boolean isPatternTransparent(boolean isFillCheck, boolean isStrokeCheck) {
+		if (isFillCheck && isPattern(this.graphicState.getFillColorSpace())
+				&& this.isTilingPatternTransparent(this.graphicState.getFillPattern())) {
+			return true;
+		}
+		return isStrokeCheck && isPattern(this.graphicState.getStrokeColorSpace())
+				&& this.isTilingPatternTransparent(this.graphicState.getStrokePattern());
+	}
+
+	private boolean isTilingPatternTransparent(PDAbstractPattern pattern) {
+		if (pattern instanceof PDTilingPattern) {
+			PDTilingPattern tiling = (PDTilingPattern) pattern;
+			return containsTransparency(tiling, this.resources.getExtendedResources(tiling.getResources()),
+					this.context);
+		}
+		return false;
+	}
+
+	/**
+	 * @return true if the current font is Type 3 font and any of its glyphs
+	 * shown by the current operator paints with transparency
+	 */
+	boolean isFontTransparent() {
+		PDFont font = this.getFont(this.graphicState.getFontName());
+		if (!(font instanceof PDType3Font)) {
+			return false;
+		}
+		PDType3Font type3Font = (PDType3Font) font;
+		Encoding encoding = type3Font.getEncoding();
+		COSDictionary charProcs = type3Font.getCharProcs();
+		if (encoding == null || charProcs == null) {
+			return false;
+		}
+		PDInheritableResources fontResources = this.resources.getExtendedResources(type3Font.getResources());
+		for (byte[] string : this.getStrings()) {
+			for (byte glyphCode : string) {
+				String glyphName = encoding.getName(glyphCode);
+				PDType3CharProc charProc = glyphName == null ? null :
+						type3Font.getCharProc(COSName.getPDFName(glyphName));
+				if (charProc != null && containsTransparency(charProc, fontResources, this.context)) {
+					return true;
+				}
+			}
+		}
+		return false;
+	}
+
+	private List<byte[]> getStrings() {
+		List<byte[]> res = new ArrayList<>();
+		COSBase arg = this.arguments.isEmpty() ? null : this.arguments.get(0);
+		if (arg instanceof COSArray) {
+			for (COSBase element : (COSArray) arg) {
+				if (element instanceof COSString) {
+					res.add(((COSString) element).getBytes());
+				}
+			}
+		} else if (arg instanceof COSString) {
+			res.add(((COSString) arg).getBytes());
+		}
+		return res;
+	}
+
+	private GraphicState copyGraphicState() {
+		GraphicState copy = new GraphicState();
+		copy.copyProperties(this.graphicState);
+		return copy;
+	}
+
+	private COSName getLastCOSName() {
+		COSBase lastElement = this.arguments.isEmpty() ? null : this.arguments.get(this.arguments.size() - 1);
+		return lastElement instanceof COSName ? (COSName) lastElement : null;
+	}
+
+	private RenderingMode getRenderingMode() {
+		COSBase renderingMode = this.arguments.isEmpty() ? null : this.arguments.get(0);
+		if (renderingMode instanceof COSInteger) {
+			int value = ((COSInteger) renderingMode).intValue();
+			if (value >= 0 && value < RenderingMode.values().length) {
+				return RenderingMode.fromInt(value);
+			}
+		}
+		return RenderingMode.FILL;
+	}
+
+	private static boolean isPattern(PDColorSpace colorSpace) {
+		return colorSpace != null && ColorSpaceFactory.PATTERN.equals(colorSpace.getName());
+	}
+
+	private PDColorSpace getColorSpace(COSName name) {
+		try {
+			return this.resources.getColorSpace(name);
+		} catch (IOException e) {
+			LOGGER.debug("Problem encountered while obtaining resources for " + name + ". " + e.getMessage(), e);
+			return null;
+		}
+	}
+
+	private PDAbstractPattern getPattern(COSName name) {
+		try {
+			return this.resources.getPattern(name);
+		} catch (IOException e) {
+			LOGGER.debug("Problem encountered while obtaining resources for " + name + ". " + e.getMessage(), e);
+			return null;
+		}
+	}
+
+	private PDXObject getXObject(COSName name) {
+		try {
+			return this.resources.getXObject(name);
+		} catch (IOException e) {
+			LOGGER.debug("Problem encountered while obtaining resources for " + name + ". " + e.getMessage(), e);
+			return null;
+		}
+	}
+
+	private PDFont getFont(COSName name) {
+		try {
+			return this.resources.getFont(name);
+		} catch (IOException e) {
+			LOGGER.debug("Problem encountered while obtaining resources for " + name + ". " + e.getMessage(), e);
+			return null;
+		}
+	}
+
+	/**
+	 * Graphic state saved by q operator together with the last painted XObject.
+	 */
+	private static final class SavedState {
+
+		private final GraphicState graphicState;
+		private final PDXObject xObject;
+
+		SavedState(GraphicState graphicState, PDXObject xObject) {
+			this.graphicState = graphicState;
+			this.xObject = xObject;
+		}
+	}
+
+	/**
+	 * State shared by scanners of all content streams painted by the checked one.
+	 */
+	private static final class ScanContext {
+
+		private final DocumentCache cache;
+		/** Content streams which are being scanned now with their nesting depth */
+		private final Map<COSStream, Integer> scannedStreams = new IdentityHashMap<>();
+		/** Minimal depth of the scanned stream which was referenced again */
+		private int cycleDepth = Integer.MAX_VALUE;
+
+		ScanContext(DocumentCache cache) {
+			this.cache = cache;
+		}
+	}
+}
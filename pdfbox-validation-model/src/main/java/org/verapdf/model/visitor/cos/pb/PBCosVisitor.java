@@ -3,6 +3,7 @@ package org.verapdf.model.visitor.cos.pb;
 import org.apache.pdfbox.cos.*;
 import org.apache.pdfbox.pdmodel.PDDocument;
 import org.verapdf.model.impl.pb.cos.*;
+import org.verapdf.model.tools.cache.DocumentCache;
 import org.verapdf.pdfa.flavours.PDFAFlavour;
 
 import java.io.IOException;
@@ -11,6 +12,9 @@ import java.io.IOException;
  * Implementation of {@link ICOSVisitor} which realize Visitor pattern.
  * Current implementation create objects of abstract model implementation for corresponding objects
  * of pdf box. Methods call from {@code <? extends COSBase>} objects using accept() method.
+ * Containers and indirect objects are registered in {@link DocumentCache}, so the same pdf box
+ * object is wrapped once per document while its wrapper is in use. Cache does not keep
+ * wrappers alive.
  *
  * @author Evgeniy Muravitskiy
  */
@@ -18,10 +22,12 @@ public final class PBCosVisitor implements ICOSVisitor {
 
     private final PDDocument document;
     private final PDFAFlavour flavour;
+    private final DocumentCache cache;
 
     private PBCosVisitor(PDDocument document, PDFAFlavour flavour) {
         this.document = document;
         this.flavour = flavour;
+        this.cache = DocumentCache.getInstance(document);
     }
 
     public static PBCosVisitor getInstance(PDDocument document, PDFAFlavour flavour) {
@@ -34,7 +40,9 @@ public final class PBCosVisitor implements ICOSVisitor {
      */
     @Override
     public Object visitFromArray(COSArray obj) throws IOException {
-        return new PBCosArray(obj, document, flavour);
+        Object array = this.cache.getWrapper(obj, flavour, PBCosArray.COS_ARRAY_TYPE);
+        return array != null ? array : this.cache.putWrapper(obj, flavour,
+                PBCosArray.COS_ARRAY_TYPE, new PBCosArray(obj, document, flavour));
     }
 
     /** {@inheritDoc} Create a PBCosBool for corresponding COSBoolean.
@@ -57,7 +65,13 @@ public final class PBCosVisitor implements ICOSVisitor {
     public Object visitFromDictionary(COSDictionary obj) throws IOException {
 		COSName type = obj.getCOSName(COSName.TYPE);
 		boolean isFileSpec = type != null && COSName.FILESPEC.equals(type);
-		return isFileSpec ? new PBCosFileSpecification(obj, document, flavour) : new PBCosDict(obj, document, flavour);
+		String wrapperType = isFileSpec ? PBCosFileSpecification.COS_FILE_SPECIFICATION_TYPE : PBCosDict.COS_DICT_TYPE;
+		Object dictionary = this.cache.getWrapper(obj, flavour, wrapperType);
+		if (dictionary == null) {
+			dictionary = isFileSpec ? new PBCosFileSpecification(obj, document, flavour) : new PBCosDict(obj, document, flavour);
+			dictionary = this.cache.putWrapper(obj, flavour, wrapperType, dictionary);
+		}
+		return dictionary;
     }
 
     /** {@inheritDoc} Create a PBCosDocument for corresponding COSDocument.
@@ -111,7 +125,9 @@ public final class PBCosVisitor implements ICOSVisitor {
      */
     @Override
     public Object visitFromStream(COSStream obj) throws IOException {
-        return new PBCosStream(obj, document, flavour);
+        Object stream = this.cache.getWrapper(obj, flavour, PBCosStream.COS_STREAM_TYPE);
+        return stream != null ? stream : this.cache.putWrapper(obj, flavour,
+                PBCosStream.COS_STREAM_TYPE, new PBCosStream(obj, document, flavour));
     }
 
     /** {@inheritDoc} Create a PBCosString for corresponding COSString.
@@ -131,6 +147,9 @@ public final class PBCosVisitor implements ICOSVisitor {
      * @see COSObject#accept(ICOSVisitor)
      */
     public static Object visitFromObject(COSObject obj, PDDocument document, PDFAFlavour flavour) {
-        return new PBCosIndirect(obj, document, flavour);
+        DocumentCache cache = DocumentCache.getInstance(document);
+        Object indirect = cache.getWrapper(obj, flavour, PBCosIndirect.COS_INDIRECT_TYPE);
+        return indirect != null ? indirect : cache.putWrapper(obj, flavour,
+                PBCosIndirect.COS_INDIRECT_TYPE, new PBCosIndirect(obj, document, flavour));
     }
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package org.verapdf.model;
 import org.junit.Assert;
 import org.junit.Test;
 
+import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.net.URISyntaxException;
@@ -25,6 +26,15 @@ public class ModelParserTest {
 		}
 	}
 
+	@Test
+	public void testExistingFileRandomAccess() throws URISyntaxException, IOException {
+		String path = getSystemIndependentPath("/model/impl/pb/pd/Fonts.pdf");
+		try (ModelParser loader = ModelParser.createModelWithFlavour(new File(path), null)) {
+			Assert.assertNotNull(loader.getPDDocument());
+			Assert.assertNotNull(loader.getRoot());
+		}
+	}
+
 	private static String getSystemIndependentPath(String path) throws URISyntaxException {
 		URL resourceUrl = ClassLoader.class.getResource(path);
 		Path resourcePath = Paths.get(resourceUrl.toURI());
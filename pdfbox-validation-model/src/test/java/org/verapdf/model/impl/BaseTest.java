@@ -5,6 +5,7 @@ import org.junit.AfterClass;
 import org.junit.Assert;
 import org.junit.Test;
 import org.verapdf.model.ModelHelper;
+import org.verapdf.model.tools.cache.DocumentCache;
 
 import java.io.File;
 import java.io.IOException;
@@ -58,6 +59,7 @@ public abstract class BaseTest {
 		actual = null;
 
 		if (document != null) {
+			DocumentCache.release(document);
 			document.close();
 		}
 	}
@@ -0,0 +1,56 @@
+package org.verapdf.model.impl.pb.cos;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSObject;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.coslayer.CosIndirect;
+import org.verapdf.model.tools.TestCosObjects;
+import org.verapdf.model.tools.cache.DocumentCache;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+public class IndirectObjectListTest {
+
+	private PDDocument document;
+
+	@Before
+	public void setUp() {
+		this.document = new PDDocument();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		DocumentCache.release(this.document);
+		this.document.close();
+	}
+
+	@Test
+	public void testWrappersAreNotRetained() {
+		List<COSObject> objects = new ArrayList<>();
+		objects.add(new COSObject(new COSDictionary()));
+		IndirectObjectList list = new IndirectObjectList(objects, this.document, null);
+
+		CosIndirect indirect = list.get(0);
+		Object direct = getDirectObject(indirect);
+		Assert.assertSame(direct, getDirectObject(list.get(0)));
+
+		WeakReference<CosIndirect> indirectReference = new WeakReference<>(indirect);
+		WeakReference<Object> directReference = new WeakReference<>(direct);
+		indirect = null;
+		direct = null;
+		Assert.assertTrue(TestCosObjects.isCollected(indirectReference));
+		Assert.assertTrue(TestCosObjects.isCollected(directReference));
+	}
+
+	private static Object getDirectObject(CosIndirect indirect) {
+		return indirect.getLinkedObjects(PBCosIndirect.DIRECT_OBJECT).get(0);
+	}
+}
@@ -0,0 +1,73 @@
+package org.verapdf.model.impl.pb.external;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.model.tools.cache.DocumentCache;
+
+import javax.xml.bind.DatatypeConverter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+
+public class PBoxEmbeddedFileTest {
+
+	private static final byte[] NOT_A_PDF = "not a pdf".getBytes(StandardCharsets.US_ASCII);
+
+	private PDDocument document;
+
+	@Before
+	public void setUp() {
+		this.document = new PDDocument();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		DocumentCache.release(this.document);
+		this.document.close();
+	}
+
+	@Test
+	public void testFileOverSizeLimitIsNotValidated() throws IOException {
+		DocumentCache.getInstance(this.document).setEmbeddedFileSizeLimit(10);
+		COSDictionary ef = createEmbeddedFile(new byte[100]);
+
+		Assert.assertEquals(Boolean.FALSE, new PBoxEmbeddedFile(ef, this.document).getisValidPDFA12());
+	}
+
+	@Test
+	public void testVerdictIsCachedPerStream() throws IOException {
+		COSDictionary ef = createEmbeddedFile(NOT_A_PDF);
+
+		Assert.assertEquals(Boolean.FALSE, new PBoxEmbeddedFile(ef, this.document).getisValidPDFA12());
+		Assert.assertEquals(Boolean.FALSE, DocumentCache.getInstance(this.document)
+				.getEmbeddedFileVerdict((COSStream) ef.getDictionaryObject(COSName.F)));
+	}
+
+	@Test
+	public void testDuplicateContentIsNotLoaded() throws IOException, NoSuchAlgorithmException {
+		String digest = DatatypeConverter.printHexBinary(MessageDigest.getInstance("SHA-256").digest(NOT_A_PDF));
+		// verdict of the same content is taken from the cache, failing load is not attempted
+		DocumentCache.getInstance(this.document).putEmbeddedFileVerdict(digest, Boolean.TRUE);
+		COSDictionary ef = createEmbeddedFile(NOT_A_PDF);
+
+		Assert.assertEquals(Boolean.TRUE, new PBoxEmbeddedFile(ef, this.document).getisValidPDFA12());
+	}
+
+	private static COSDictionary createEmbeddedFile(byte[] content) throws IOException {
+		COSStream stream = new COSStream(new COSDictionary());
+		try (OutputStream out = stream.createUnfilteredStream()) {
+			out.write(content);
+		}
+		COSDictionary ef = new COSDictionary();
+		ef.setItem(COSName.F, stream);
+		return ef;
+	}
+}
@@ -0,0 +1,91 @@
+package org.verapdf.model.impl.pb.external;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+public class PBoxJPEG2000Test {
+
+	private static final int CODESTREAM_LENGTH = 1024 * 1024;
+
+	@Test
+	public void testHeaderAfterSkippedBox() throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		out.write(new byte[]{0x00, 0x00, 0x00, 0x0C, 0x6A, 0x50, 0x20, 0x20, 0x0D, 0x0A, -0x79, 0x0A});
+		// extended length box which content must be skipped without reading
+		writeBoxHeader(out, 1, "jp2c");
+		writeInt(out, 0);
+		writeInt(out, CODESTREAM_LENGTH + 16);
+		out.write(new byte[CODESTREAM_LENGTH]);
+		writeBoxHeader(out, 8 + 22 + 15, "jp2h");
+		writeBoxHeader(out, 22, "ihdr");
+		writeInt(out, 100);
+		writeInt(out, 200);
+		out.write(new byte[]{0x00, 0x03, 0x07, 0x07, 0x00, 0x00});
+		writeBoxHeader(out, 15, "colr");
+		out.write(new byte[]{0x01, 0x00, 0x01});
+		writeInt(out, 16);
+
+		CountingStream stream = new CountingStream(out.toByteArray());
+		PBoxJPEG2000 jpeg2000 = PBoxJPEG2000.fromStream(stream);
+
+		Assert.assertEquals(Long.valueOf(3), jpeg2000.getnrColorChannels());
+		Assert.assertEquals(Long.valueOf(8), jpeg2000.getbitDepth());
+		Assert.assertEquals(Long.valueOf(1), jpeg2000.getnrColorSpaceSpecs());
+		Assert.assertEquals(Long.valueOf(1), jpeg2000.getnrColorSpacesWithApproxField());
+		Assert.assertEquals(Long.valueOf(1), jpeg2000.getcolrMethod());
+		Assert.assertEquals(Long.valueOf(16), jpeg2000.getcolrEnumCS());
+		Assert.assertEquals(Boolean.FALSE, jpeg2000.getbpccBoxPresent());
+		Assert.assertTrue(stream.read < CODESTREAM_LENGTH);
+	}
+
+	@Test
+	public void testWrongSignature() {
+		PBoxJPEG2000 jpeg2000 = PBoxJPEG2000.fromStream(new ByteArrayInputStream(new byte[]{0x00, 0x01}));
+		Assert.assertEquals(Long.valueOf(0), jpeg2000.getnrColorChannels());
+		Assert.assertNull(jpeg2000.getcolrEnumCS());
+	}
+
+	private static void writeBoxHeader(ByteArrayOutputStream out, int length, String type) throws IOException {
+		writeInt(out, length);
+		out.write(type.getBytes("US-ASCII"));
+	}
+
+	private static void writeInt(ByteArrayOutputStream out, int value) {
+		out.write(value >>> 24);
+		out.write(value >>> 16);
+		out.write(value >>> 8);
+		out.write(value);
+	}
+
+	private static class CountingStream extends InputStream {
+
+		private final byte[] data;
+		private int position;
+		private int read;
+
+		CountingStream(byte[] data) {
+			this.data = data;
+		}
+
+		@Override
+		public int read() {
+			if (this.position >= this.data.length) {
+				return -1;
+			}
+			++this.read;
+			return this.data[this.position++] & 0xFF;
+		}
+
+		@Override
+		public long skip(long n) {
+			long skipped = Math.min(n, this.data.length - this.position);
+			this.position += skipped;
+			return skipped;
+		}
+	}
+}
@@ -0,0 +1,118 @@
+package org.verapdf.model.impl.pb.operator.textshow;
+
+import org.apache.pdfbox.contentstream.operator.Operator;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSString;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceGray;
+import org.apache.pdfbox.pdmodel.graphics.color.PDDeviceRGB;
+import org.junit.Assert;
+import org.junit.Test;
+import org.verapdf.model.factory.operator.GraphicState;
+import org.verapdf.model.factory.operator.OperatorFactory;
+import org.verapdf.model.tools.TestCosObjects;
+import org.verapdf.model.tools.constants.Operators;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Checks that graphic state kept by text show operators is not changed by
+ * the following operators of the content stream.
+ */
+public class GraphicStateSnapshotTest {
+
+	private static final COSName FIRST_FONT = COSName.getPDFName("F1");
+	private static final COSName SECOND_FONT = COSName.getPDFName("F2");
+
+	@Test
+	public void testSnapshotIsNotChangedByFollowingOperators() {
+		List<Object> tokens = new ArrayList<>();
+		addTf(tokens, FIRST_FONT);
+		addTj(tokens);
+		addTj(tokens);
+		tokens.add(COSName.DEVICERGB);
+		tokens.add(Operator.getOperator(Operators.CS_FILL));
+		tokens.add(TestCosObjects.GS_NAME);
+		tokens.add(Operator.getOperator(Operators.GS));
+		addTf(tokens, SECOND_FONT);
+		addTj(tokens);
+
+		List<PBOp_Tj> textShows = parseTextShows(tokens);
+		Assert.assertEquals(3, textShows.size());
+
+		GraphicState first = textShows.get(0).state;
+		assertInitialState(first);
+		// state was not changed between these operators, so it is shared
+		Assert.assertSame(first, textShows.get(1).state);
+
+		GraphicState changed = textShows.get(2).state;
+		Assert.assertNotSame(first, changed);
+		Assert.assertEquals(SECOND_FONT, changed.getFontName());
+		Assert.assertEquals(PDDeviceRGB.INSTANCE, changed.getFillColorSpace());
+		Assert.assertEquals(TestCosObjects.GS_ALPHA, changed.getCa_ns(), 0);
+	}
+
+	@Test
+	public void testRestoredStateIsEqualToSaved() {
+		List<Object> tokens = new ArrayList<>();
+		addTf(tokens, FIRST_FONT);
+		addTj(tokens);
+		tokens.add(Operator.getOperator(Operators.Q_GSAVE));
+		tokens.add(COSName.DEVICERGB);
+		tokens.add(Operator.getOperator(Operators.CS_FILL));
+		tokens.add(TestCosObjects.GS_NAME);
+		tokens.add(Operator.getOperator(Operators.GS));
+		addTf(tokens, SECOND_FONT);
+		addTj(tokens);
+		tokens.add(Operator.getOperator(Operators.Q_GRESTORE));
+		addTj(tokens);
+
+		List<PBOp_Tj> textShows = parseTextShows(tokens);
+		Assert.assertEquals(3, textShows.size());
+
+		GraphicState saved = textShows.get(0).state;
+		assertInitialState(saved);
+
+		GraphicState inner = textShows.get(1).state;
+		Assert.assertEquals(SECOND_FONT, inner.getFontName());
+		Assert.assertEquals(PDDeviceRGB.INSTANCE, inner.getFillColorSpace());
+		Assert.assertEquals(TestCosObjects.GS_ALPHA, inner.getCa_ns(), 0);
+
+		GraphicState restored = textShows.get(2).state;
+		assertInitialState(restored);
+		Assert.assertSame(saved, restored);
+	}
+
+	private static void assertInitialState(GraphicState state) {
+		Assert.assertEquals(FIRST_FONT, state.getFontName());
+		Assert.assertEquals(PDDeviceGray.INSTANCE, state.getFillColorSpace());
+		Assert.assertEquals(1f, state.getCa_ns(), 0);
+	}
+
+	private static List<PBOp_Tj> parseTextShows(List<Object> tokens) {
+		PDInheritableResources resources = PDInheritableResources.getInstance(
+				new PDResources(TestCosObjects.createExtGStateResources()));
+		List<PBOp_Tj> res = new ArrayList<>();
+		for (org.verapdf.model.operator.Operator operator :
+				new OperatorFactory().operatorsFromTokens(tokens, resources, null, null)) {
+			if (operator instanceof PBOp_Tj) {
+				res.add((PBOp_Tj) operator);
+			}
+		}
+		return res;
+	}
+
+	private static void addTf(List<Object> tokens, COSName font) {
+		tokens.add(font);
+		tokens.add(COSInteger.get(12));
+		tokens.add(Operator.getOperator(Operators.TF));
+	}
+
+	private static void addTj(List<Object> tokens) {
+		tokens.add(new COSString("a"));
+		tokens.add(Operator.getOperator(Operators.TJ_SHOW));
+	}
+}
@@ -127,4 +127,17 @@ public class PBoxPDAnnotTest extends BaseTest {
 		}
 	}
 
+	@Test
+	public void testAppearanceIsShared() throws IOException {
+		List<PDAnnotation> annotations = document.getPage(0).getAnnotations();
+		PDAnnotation annot = annotations.get(annotations.size() - 1);
+		PBoxPDAnnot other = new PBoxPDAnnot(annot, getResources(annot), document, null);
+		List<? extends Object> expected = actual.getLinkedObjects(PBoxPDAnnot.APPEARANCE);
+		List<? extends Object> appearance = other.getLinkedObjects(PBoxPDAnnot.APPEARANCE);
+		Assert.assertEquals(expected.size(), appearance.size());
+		for (int i = 0; i < expected.size(); i++) {
+			Assert.assertSame(expected.get(i), appearance.get(i));
+		}
+	}
+
 }
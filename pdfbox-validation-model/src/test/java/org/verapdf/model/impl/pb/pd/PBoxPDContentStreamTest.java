@@ -42,4 +42,14 @@ public class PBoxPDContentStreamTest extends BaseTest {
 		}
 	}
 
+	@Test
+	public void testOperatorsIterationMatchesRandomAccess() {
+		List<? extends Object> operators = actual.getLinkedObjects(OPERATORS);
+		int index = 0;
+		for (Object object : operators) {
+			Assert.assertSame(operators.get(index++), object);
+		}
+		Assert.assertEquals(operators.size(), index);
+	}
+
 }
@@ -0,0 +1,89 @@
+package org.verapdf.model.impl.pb.pd;
+
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.model.baselayer.Object;
+import org.verapdf.model.pdlayer.PDPage;
+import org.verapdf.model.tools.TestCosObjects;
+import org.verapdf.model.tools.cache.DocumentCache;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+
+public class PageParsingQueueTest {
+
+	private static final String[] CONTENTS = {
+			"q 1 0 0 RG 0 0 10 10 re S Q",
+			"/GS0 gs 0 0 10 10 re f",
+			"",
+			"BT ET 0.5 g 0 0 m 10 10 l S",
+			"q /GS0 gs Q 0 0 10 10 re f",
+			"q Q q Q"
+	};
+
+	private PDDocument document;
+	private ExecutorService executor;
+
+	@Before
+	public void setUp() throws IOException {
+		this.document = new PDDocument();
+		PDResources resources = new PDResources(TestCosObjects.createExtGStateResources());
+		for (String content : CONTENTS) {
+			org.apache.pdfbox.pdmodel.PDPage page = new org.apache.pdfbox.pdmodel.PDPage();
+			page.getCOSObject().setItem(COSName.CONTENTS, TestCosObjects.createStream(content));
+			page.setResources(resources);
+			this.document.addPage(page);
+		}
+		this.executor = new ForkJoinPool(2);
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		this.executor.shutdown();
+		DocumentCache.release(this.document);
+		this.document.close();
+	}
+
+	@Test
+	public void testParallelModelIsEqualToSerial() {
+		List<String> serial = describePages(new PBoxPDDocument(this.document, PDFAFlavour.PDFA_1_B), false);
+		List<String> parallel = describePages(new PBoxPDDocument(this.document, PDFAFlavour.PDFA_1_B,
+				this.executor, 2), false);
+		Assert.assertEquals(CONTENTS.length, serial.size());
+		Assert.assertEquals(serial, parallel);
+	}
+
+	@Test
+	public void testBackwardTraversal() {
+		List<String> serial = describePages(new PBoxPDDocument(this.document, PDFAFlavour.PDFA_1_B), true);
+		List<String> parallel = describePages(new PBoxPDDocument(this.document, PDFAFlavour.PDFA_1_B,
+				this.executor, 2), true);
+		Assert.assertEquals(serial, parallel);
+	}
+
+	private static List<String> describePages(PBoxPDDocument document, boolean isBackward) {
+		List<? extends Object> pages = document.getLinkedObjects(PBoxPDDocument.PAGES);
+		List<String> res = new ArrayList<>(pages.size());
+		for (int i = 0; i < pages.size(); i++) {
+			PDPage page = (PDPage) pages.get(isBackward ? pages.size() - 1 - i : i);
+			StringBuilder description = new StringBuilder();
+			description.append(page.getcontainsTransparency());
+			for (Object contentStream : page.getLinkedObjects(PBoxPDPage.CONTENT_STREAM)) {
+				for (Object operator : contentStream.getLinkedObjects(PBoxPDContentStream.OPERATORS)) {
+					description.append(' ').append(operator.getObjectType());
+				}
+			}
+			res.add(description.toString());
+		}
+		return res;
+	}
+}
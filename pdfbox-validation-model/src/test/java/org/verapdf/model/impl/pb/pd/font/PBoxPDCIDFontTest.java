@@ -0,0 +1,96 @@
+package org.verapdf.model.impl.pb.pd.font;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSInteger;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDCIDFont;
+import org.apache.pdfbox.pdmodel.font.PDType0Font;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.model.tools.cache.DocumentCache;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URISyntaxException;
+import java.util.zip.Deflater;
+
+public class PBoxPDCIDFontTest {
+
+	private static final String FILE_PATH = "/model/impl/pb/" + PBoxPDFontTest.FILE_RELATIVE_PATH;
+	private static final COSName TYPE0_FONT_NAME = COSName.getPDFName("C2_0");
+
+	private static final int CID_SET_LENGTH = 8192;
+
+	private PDDocument document;
+	private PDCIDFont cidFont;
+
+	@Before
+	public void setUp() throws IOException, URISyntaxException {
+		this.document = PDDocument.load(new File(PBoxPDCIDFontTest.class.getResource(FILE_PATH).toURI()), false, true);
+		PDType0Font font = (PDType0Font) this.document.getPage(0).getResources().getFont(TYPE0_FONT_NAME);
+		this.cidFont = font.getDescendantFont();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		DocumentCache.release(this.document);
+		this.document.close();
+	}
+
+	@Test
+	public void testCompressedCIDSetWithMissingGlyph() throws IOException {
+		byte[] cidSet = new byte[CID_SET_LENGTH];
+		cidSet[0] = (byte) 0x80;
+		// glyph which is absent in the embedded font program, far beyond /Length of the compressed stream
+		cidSet[CID_SET_LENGTH - 1] = 0x01;
+		COSStream stream = setCIDSet(cidSet);
+		Assert.assertTrue(stream.getInt(COSName.LENGTH) < CID_SET_LENGTH - 1);
+
+		PBoxPDCIDFont font = new PBoxPDCIDFont(this.cidFont, this.document, null);
+		Assert.assertEquals(Boolean.FALSE, font.getcidSetListsAllGlyphs());
+		Assert.assertEquals(Boolean.FALSE,
+				DocumentCache.getInstance(this.document).getCIDSetVerdict(this.cidFont.getCOSObject()));
+	}
+
+	@Test
+	public void testCompressedCIDSetWithoutMissingGlyphs() throws IOException {
+		byte[] cidSet = new byte[CID_SET_LENGTH];
+		cidSet[0] = (byte) 0x80;
+		setCIDSet(cidSet);
+
+		PBoxPDCIDFont font = new PBoxPDCIDFont(this.cidFont, this.document, null);
+		Assert.assertEquals(Boolean.TRUE, font.getcidSetListsAllGlyphs());
+		Assert.assertEquals(Boolean.TRUE,
+				DocumentCache.getInstance(this.document).getCIDSetVerdict(this.cidFont.getCOSObject()));
+	}
+
+	private COSStream setCIDSet(byte[] cidSet) throws IOException {
+		byte[] compressed = deflate(cidSet);
+		COSStream stream = new COSStream(new COSDictionary());
+		stream.setItem(COSName.FILTER, COSName.FLATE_DECODE);
+		try (OutputStream out = stream.createFilteredStream()) {
+			out.write(compressed);
+		}
+		stream.setItem(COSName.LENGTH, COSInteger.get(compressed.length));
+		this.cidFont.getFontDescriptor().getCOSObject()
+				.setItem(COSName.getPDFName(PBoxPDCIDFont.CID_SET), stream);
+		return stream;
+	}
+
+	private static byte[] deflate(byte[] data) {
+		Deflater deflater = new Deflater();
+		deflater.setInput(data);
+		deflater.finish();
+		byte[] buffer = new byte[data.length + 64];
+		int length = deflater.deflate(buffer);
+		deflater.end();
+		byte[] result = new byte[length];
+		System.arraycopy(buffer, 0, result, 0, length);
+		return result;
+	}
+}
@@ -7,12 +7,14 @@ import org.junit.BeforeClass;
 import org.junit.Test;
 import org.verapdf.model.baselayer.Object;
 import org.verapdf.model.impl.pb.pd.PBoxPDContentStream;
+import org.verapdf.model.pdlayer.PDContentStream;
 import org.verapdf.model.pdlayer.PDType3Font;
 import org.verapdf.model.tools.resources.PDInheritableResources;
 
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author Timur Kamalov
@@ -87,4 +89,13 @@ public class PBoxPDType3FontTest extends PBoxPDSimpleFontTest {
 		Assert.assertEquals(((PDType3Font) actual).getEncoding(), PBoxPDSimpleFont.CUSTOM_ENCODING);
 	}
 
+	@Test
+	public void testCharProcStreamsAreCached() {
+		PBoxPDType3Font font = (PBoxPDType3Font) actual;
+		for (Map.Entry<String, PDContentStream> entry : font.getCharProcStreams().entrySet()) {
+			Assert.assertSame(entry.getValue(), font.getCharProcStream(entry.getKey()));
+		}
+		Assert.assertNull(font.getCharProcStream("unknownGlyph"));
+	}
+
 }
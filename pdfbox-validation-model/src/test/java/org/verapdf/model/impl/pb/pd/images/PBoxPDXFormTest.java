@@ -72,4 +72,14 @@ public class PBoxPDXFormTest extends PBoxPDAbstractXObjectTest {
 		}
 	}
 
+	@Test
+	public void testContentStreamIsSharedBetweenInvocations() throws IOException {
+		PDResources pageResources = document.getPage(0).getResources();
+		PDFormXObject xObject = (PDFormXObject) pageResources.getXObject(COSName.getPDFName(FORM_NAME));
+		PBoxPDXForm form = new PBoxPDXForm(xObject,
+				PDInheritableResources.getInstance(pageResources, xObject.getResources()), document, null);
+		Assert.assertSame(actual.getLinkedObjects(PBoxPDXForm.CONTENT_STREAM).get(0),
+				form.getLinkedObjects(PBoxPDXForm.CONTENT_STREAM).get(0));
+	}
+
 }
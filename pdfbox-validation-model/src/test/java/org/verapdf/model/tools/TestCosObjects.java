@@ -0,0 +1,71 @@
+package org.verapdf.model.tools;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSFloat;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.WeakReference;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * In-memory pdfbox objects shared by tests which do not need a pdf file.
+ */
+public final class TestCosObjects {
+
+	/** Name of the transparent extended graphic state in {@link #createExtGStateResources()} */
+	public static final COSName GS_NAME = COSName.getPDFName("GS0");
+	/** Non-stroking alpha constant of the transparent extended graphic state */
+	public static final float GS_ALPHA = 0.5f;
+
+	private TestCosObjects() {
+		// disable default constructor
+	}
+
+	/**
+	 * @param content decoded content of the stream
+	 * @return unfiltered stream which does not belong to any document
+	 */
+	public static COSStream createStream(String content) throws IOException {
+		COSStream stream = new COSStream(new COSDictionary());
+		try (OutputStream out = stream.createUnfilteredStream()) {
+			out.write(content.getBytes(StandardCharsets.UTF_8));
+		}
+		return stream;
+	}
+
+	/**
+	 * @return resource dictionary with a single extended graphic state
+	 * {@link #GS_NAME} which sets non-stroking alpha constant to {@link #GS_ALPHA}
+	 */
+	public static COSDictionary createExtGStateResources() {
+		COSDictionary state = new COSDictionary();
+		state.setItem(COSName.CA_NS, new COSFloat(GS_ALPHA));
+		COSDictionary states = new COSDictionary();
+		states.setItem(GS_NAME, state);
+		COSDictionary resources = new COSDictionary();
+		resources.setItem(COSName.getPDFName("ExtGState"), states);
+		return resources;
+	}
+
+	/**
+	 * Requests garbage collection until the referent is collected or the
+	 * number of attempts is exceeded.
+	 *
+	 * @return true if the referent was collected
+	 */
+	public static boolean isCollected(WeakReference<?> reference) {
+		for (int i = 0; i < 50 && reference.get() != null; i++) {
+			System.gc();
+			try {
+				Thread.sleep(10);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return false;
+			}
+		}
+		return reference.get() == null;
+	}
+}
@@ -0,0 +1,164 @@
+package org.verapdf.model.tools.cache;
+
+import com.adobe.xmp.XMPException;
+import com.adobe.xmp.impl.VeraPDFMeta;
+import org.apache.fontbox.cmap.CMap;
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.font.PDType1Font;
+import org.apache.pdfbox.preflight.font.container.FontContainer;
+import org.apache.pdfbox.preflight.font.container.Type1Container;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.model.tools.TestCosObjects;
+import org.verapdf.pdfa.flavours.PDFAFlavour;
+
+import java.io.IOException;
+import java.lang.ref.WeakReference;
+
+public class DocumentCacheTest {
+
+	private static final String TYPE = "CosDict";
+
+	private PDDocument document;
+
+	@Before
+	public void setUp() {
+		this.document = new PDDocument();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		DocumentCache.release(this.document);
+		this.document.close();
+	}
+
+	@Test
+	public void testCacheIsSharedUntilRelease() {
+		DocumentCache cache = DocumentCache.getInstance(this.document);
+		Assert.assertSame(cache, DocumentCache.getInstance(this.document));
+		DocumentCache.release(this.document);
+		Assert.assertNotSame(cache, DocumentCache.getInstance(this.document));
+	}
+
+	@Test
+	public void testNullDocumentCacheIsNotShared() {
+		Assert.assertNotSame(DocumentCache.getInstance(null), DocumentCache.getInstance(null));
+	}
+
+	@Test
+	public void testWrappersAreKeyedByIdentityFlavourAndType() {
+		DocumentCache cache = DocumentCache.getInstance(null);
+		COSDictionary dictionary = new COSDictionary();
+		Object wrapper = new Object();
+
+		Assert.assertNull(cache.getWrapper(dictionary, PDFAFlavour.PDFA_1_B, TYPE));
+		Assert.assertSame(wrapper, cache.putWrapper(dictionary, PDFAFlavour.PDFA_1_B, TYPE, wrapper));
+		Assert.assertSame(wrapper, cache.getWrapper(dictionary, PDFAFlavour.PDFA_1_B, TYPE));
+		Assert.assertSame(wrapper, cache.putWrapper(dictionary, PDFAFlavour.PDFA_1_B, TYPE, new Object()));
+
+		Assert.assertNull(cache.getWrapper(new COSDictionary(), PDFAFlavour.PDFA_1_B, TYPE));
+		Assert.assertNull(cache.getWrapper(dictionary, PDFAFlavour.PDFA_2_B, TYPE));
+		Assert.assertNull(cache.getWrapper(dictionary, PDFAFlavour.PDFA_1_B, "CosStream"));
+	}
+
+	@Test
+	public void testWrappersAreNotKeptAlive() {
+		DocumentCache cache = DocumentCache.getInstance(null);
+		COSDictionary dictionary = new COSDictionary();
+		WeakReference<Object> wrapper = new WeakReference<>(
+				cache.putWrapper(dictionary, PDFAFlavour.PDFA_1_B, TYPE, new Object()));
+
+		Assert.assertTrue(TestCosObjects.isCollected(wrapper));
+		Assert.assertNull(cache.getWrapper(dictionary, PDFAFlavour.PDFA_1_B, TYPE));
+		Object replacement = new Object();
+		Assert.assertSame(replacement, cache.putWrapper(dictionary, PDFAFlavour.PDFA_1_B, TYPE, replacement));
+	}
+
+	@Test
+	public void testGlyphsAreKeyedByFontCodeAndRenderingMode() {
+		DocumentCache cache = DocumentCache.getInstance(null);
+		COSDictionary font = new COSDictionary();
+		Object glyph = new Object();
+
+		Assert.assertNull(cache.getGlyph(font, 65, 0));
+		Assert.assertSame(glyph, cache.putGlyph(font, 65, 0, glyph));
+		Assert.assertSame(glyph, cache.getGlyph(font, 65, 0));
+		Assert.assertSame(glyph, cache.putGlyph(font, 65, 0, new Object()));
+
+		Assert.assertNull(cache.getGlyph(new COSDictionary(), 65, 0));
+		Assert.assertNull(cache.getGlyph(font, 66, 0));
+		Assert.assertNull(cache.getGlyph(font, 65, 1));
+	}
+
+	@Test
+	public void testFontContainersAreLimitedToRecentlyUsed() {
+		DocumentCache cache = DocumentCache.getInstance(null);
+		FontContainer container = new Type1Container(PDType1Font.HELVETICA);
+		COSDictionary first = new COSDictionary();
+		COSDictionary second = new COSDictionary();
+
+		Assert.assertSame(container, cache.putFontContainer(first, container));
+		Assert.assertSame(container, cache.putFontContainer(second, container));
+		for (int i = 0; i < DocumentCache.MAX_FONT_CONTAINERS - 1; i++) {
+			// keep the first font recently used
+			Assert.assertSame(container, cache.getFontContainer(first));
+			cache.putFontContainer(new COSDictionary(), container);
+		}
+
+		Assert.assertSame(container, cache.getFontContainer(first));
+		Assert.assertNull(cache.getFontContainer(second));
+	}
+
+	@Test
+	public void testMetadataIsParsedOnce() throws IOException, XMPException {
+		DocumentCache cache = DocumentCache.getInstance(null);
+		COSStream stream = TestCosObjects.createStream("<x:xmpmeta xmlns:x=\"adobe:ns:meta/\">"
+				+ "<rdf:RDF xmlns:rdf=\"http://www.w3.org/1999/02/22-rdf-syntax-ns#\">"
+				+ "<rdf:Description rdf:about=\"\" xmlns:pdfaid=\"http://www.aiim.org/pdfa/ns/id/\""
+				+ " pdfaid:part=\"1\" pdfaid:conformance=\"B\"/>"
+				+ "</rdf:RDF></x:xmpmeta>");
+
+		VeraPDFMeta metadata = cache.getMetadata(stream);
+		Assert.assertEquals(Integer.valueOf(1), metadata.getIdentificationPart());
+		Assert.assertSame(metadata, cache.getMetadata(stream));
+		Assert.assertSame(cache.getExtensionSchemasNode(stream), cache.getExtensionSchemasNode(stream));
+	}
+
+	@Test
+	public void testMetadataErrorIsRemembered() throws IOException {
+		DocumentCache cache = DocumentCache.getInstance(null);
+		COSStream stream = TestCosObjects.createStream("<x:xmpmeta");
+		Exception first = null;
+		Exception second = null;
+		try {
+			cache.getMetadata(stream);
+		} catch (IOException | XMPException e) {
+			first = e;
+		}
+		try {
+			cache.getMetadata(stream);
+		} catch (IOException | XMPException e) {
+			second = e;
+		}
+		Assert.assertNotNull(first);
+		Assert.assertSame(first, second);
+	}
+
+	@Test
+	public void testCMapIsParsedOnce() throws IOException {
+		DocumentCache cache = DocumentCache.getInstance(null);
+		COSStream stream = TestCosObjects.createStream("/CIDInit /ProcSet findresource begin\n"
+				+ "12 dict begin\nbegincmap\n/CMapName /Test-V def\n/WMode 1 def\n"
+				+ "1 begincodespacerange\n<00> <FF>\nendcodespacerange\n"
+				+ "endcmap\nCMapName currentdict /CMap defineresource pop\nend\nend\n");
+
+		CMap cMap = cache.getCMap(stream);
+		Assert.assertEquals(1, cMap.getWMode());
+		Assert.assertSame(cMap, cache.getCMap(stream));
+	}
+
+}
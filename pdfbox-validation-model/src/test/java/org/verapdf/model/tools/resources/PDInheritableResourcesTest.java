@@ -0,0 +1,64 @@
+package org.verapdf.model.tools.resources;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.apache.pdfbox.pdmodel.graphics.state.PDExtendedGraphicsState;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.model.tools.cache.DocumentCache;
+
+import java.io.IOException;
+
+public class PDInheritableResourcesTest {
+
+	private static final COSName GS_NAME = COSName.getPDFName("GS0");
+
+	private PDDocument document;
+
+	@Before
+	public void setUp() {
+		this.document = new PDDocument();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		DocumentCache.release(this.document);
+		this.document.close();
+	}
+
+	@Test
+	public void testInstancesAreSharedPerResourcesPair() {
+		COSDictionary pageDictionary = new COSDictionary();
+		COSDictionary formDictionary = new COSDictionary();
+
+		PDInheritableResources page = PDInheritableResources.getInstance(
+				new PDResources(pageDictionary), null, this.document);
+		Assert.assertSame(page, PDInheritableResources.getInstance(
+				new PDResources(pageDictionary), null, this.document));
+
+		PDInheritableResources form = page.getExtendedResources(new PDResources(formDictionary));
+		Assert.assertNotSame(page, form);
+		Assert.assertSame(form, PDInheritableResources.getInstance(
+				new PDResources(pageDictionary), new PDResources(formDictionary), this.document));
+		Assert.assertSame(form, form.getExtendedResources(new PDResources(formDictionary)));
+	}
+
+	@Test
+	public void testLookupsAreCached() {
+		COSDictionary states = new COSDictionary();
+		states.setItem(GS_NAME, new COSDictionary());
+		COSDictionary pageDictionary = new COSDictionary();
+		pageDictionary.setItem(COSName.getPDFName("ExtGState"), states);
+
+		PDInheritableResources resources = PDInheritableResources.getInstance(
+				new PDResources(pageDictionary), new PDResources(new COSDictionary()));
+		PDExtendedGraphicsState state = resources.getExtGState(GS_NAME);
+		Assert.assertNotNull(state);
+		Assert.assertSame(state, resources.getExtGState(GS_NAME));
+		Assert.assertNull(resources.getExtGState(COSName.getPDFName("GS1")));
+	}
+}
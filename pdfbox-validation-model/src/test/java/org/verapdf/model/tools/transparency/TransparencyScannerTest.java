@@ -0,0 +1,105 @@
+package org.verapdf.model.tools.transparency;
+
+import org.apache.pdfbox.cos.COSDictionary;
+import org.apache.pdfbox.cos.COSName;
+import org.apache.pdfbox.cos.COSStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.PDResources;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.verapdf.model.tools.TestCosObjects;
+import org.verapdf.model.tools.cache.DocumentCache;
+import org.verapdf.model.tools.resources.PDInheritableResources;
+
+import java.io.IOException;
+
+public class TransparencyScannerTest {
+
+	private static final COSName FORM_NAME = COSName.getPDFName("Fm0");
+
+	private PDDocument document;
+
+	@Before
+	public void setUp() {
+		this.document = new PDDocument();
+	}
+
+	@After
+	public void tearDown() throws IOException {
+		DocumentCache.release(this.document);
+		this.document.close();
+	}
+
+	@Test
+	public void testOpaquePainting() throws IOException {
+		COSDictionary resources = TestCosObjects.createExtGStateResources();
+		Assert.assertFalse(containsTransparency("0 0 10 10 re f /GS0 gs", resources));
+	}
+
+	@Test
+	public void testTransparentPainting() throws IOException {
+		COSDictionary resources = TestCosObjects.createExtGStateResources();
+		Assert.assertTrue(containsTransparency("/GS0 gs 0 0 10 10 re f", resources));
+		Assert.assertFalse(containsTransparency("q /GS0 gs Q 0 0 10 10 re f", resources));
+	}
+
+	@Test
+	public void testTransparentForm() throws IOException {
+		COSStream form = createForm("/GS0 gs 0 0 10 10 re f", TestCosObjects.createExtGStateResources());
+		Assert.assertTrue(containsTransparency("/Fm0 Do", createXObjectResources(form)));
+	}
+
+	@Test
+	public void testSelfReferencingForm() throws IOException {
+		COSDictionary formResources = new COSDictionary();
+		COSStream form = createForm("/Fm0 Do", formResources);
+		formResources.setItem(COSName.XOBJECT, createXObjects(form));
+		Assert.assertFalse(containsTransparency("/Fm0 Do", createXObjectResources(form)));
+	}
+
+	@Test
+	public void testVerdictsAreCached() throws IOException {
+		COSDictionary resources = new COSDictionary();
+		COSStream first = createForm("/Fm1 Do", resources);
+		COSStream second = createForm("/Fm0 Do", resources);
+		COSDictionary xObjects = createXObjects(first);
+		xObjects.setItem(COSName.getPDFName("Fm1"), second);
+		resources.setItem(COSName.XOBJECT, xObjects);
+
+		Assert.assertFalse(containsTransparency("/Fm0 Do", resources));
+		DocumentCache cache = DocumentCache.getInstance(this.document);
+		Assert.assertEquals(Boolean.FALSE, cache.getTransparency(first, resources, resources));
+		// verdict of the second form depends on the first one which was being scanned
+		Assert.assertNull(cache.getTransparency(second, resources, resources));
+	}
+
+	private boolean containsTransparency(String content, COSDictionary resources) throws IOException {
+		PDPage page = new PDPage();
+		page.getCOSObject().setItem(COSName.CONTENTS, TestCosObjects.createStream(content));
+		PDInheritableResources extRes = PDInheritableResources.getInstance(new PDResources(resources));
+		return TransparencyScanner.containsTransparency(page, extRes, this.document);
+	}
+
+	private static COSDictionary createXObjectResources(COSStream form) {
+		COSDictionary resources = new COSDictionary();
+		resources.setItem(COSName.XOBJECT, createXObjects(form));
+		return resources;
+	}
+
+	private static COSDictionary createXObjects(COSStream form) {
+		COSDictionary xObjects = new COSDictionary();
+		xObjects.setItem(FORM_NAME, form);
+		return xObjects;
+	}
+
+	private static COSStream createForm(String content, COSDictionary resources) throws IOException {
+		COSStream form = TestCosObjects.createStream(content);
+		form.setItem(COSName.TYPE, COSName.XOBJECT);
+		form.setItem(COSName.SUBTYPE, COSName.FORM);
+		form.setItem(COSName.RESOURCES, resources);
+		return form;
+	}
+}